@@ -16,24 +16,24 @@ interface Tiger {
 class WildDog implements Dog {
     @Override
     public void speak() {
-        System.out.println("Wild Dog says loudly: Bow-Wow.");
+        ProductOutput.println("Wild Dog says loudly: Bow-Wow.");
     }
 
     @Override
     public void preferredAction() {
-        System.out.println("Wild Dogs prefer to roam freely in jungles.\n");
+        ProductOutput.println("Wild Dogs prefer to roam freely in jungles.\n");
     }
 }
 
 class PetDog implements Dog {
     @Override
     public void speak() {
-        System.out.println("Pet Dog says softly: Bow-Wow.");
+        ProductOutput.println("Pet Dog says softly: Bow-Wow.");
     }
 
     @Override
     public void preferredAction() {
-        System.out.println("Pet Dogs prefer to stay at home.\n");
+        ProductOutput.println("Pet Dogs prefer to stay at home.\n");
     }
 }
 
@@ -41,24 +41,24 @@ class PetDog implements Dog {
 class WildTiger implements Tiger {
     @Override
     public void speak() {
-        System.out.println("Wild Tiger says loudly: Halum.");
+        ProductOutput.println("Wild Tiger says loudly: Halum.");
     }
 
     @Override
     public void preferredAction() {
-        System.out.println("Wild Tigers prefer hunting in jungles.\n");
+        ProductOutput.println("Wild Tigers prefer hunting in jungles.\n");
     }
 }
 
 class PetTiger implements Tiger {
     @Override
     public void speak() {
-        System.out.println("Pet Tiger says softly: Halum.");
+        ProductOutput.println("Pet Tiger says softly: Halum.");
     }
 
     @Override
     public void preferredAction() {
-        System.out.println("Pet Tigers play in the animal circus.\n");
+        ProductOutput.println("Pet Tigers play in the animal circus.\n");
     }
 }
 
@@ -121,5 +121,22 @@ public class AbstractFactoryPatternExample {
         myTiger = myAnimalFactory.createTiger();
         myTiger.speak();
         myTiger.preferredAction();
+        System.out.println("******************");
+        //Discovering factory families through ServiceLoader, loaded on first use
+        AnimalFactoryRegistry registry = new AnimalFactoryRegistry();
+        myAnimalFactory = registry.get("wild");
+        myAnimalFactory.createDog().speak();
+        System.out.println("Pet family loaded: " + registry.isLoaded("pet"));
+        System.out.println("Family load times (ns): " + registry.getStartupMetrics());
+        System.out.println("******************");
+        //Reusing products through a pooling decorator
+        PooledAnimalFactory pooledFactory = new PooledAnimalFactory(new PetAnimalFactory(), 4, 64);
+        for (int i = 0; i < 3; i++) {
+            myDog = pooledFactory.createDog();
+            pooledFactory.release(myDog);
+        }
+        //A product of another family is not pooled
+        pooledFactory.release(new WildDog());
+        System.out.println(pooledFactory);
     }
 }
\ No newline at end of file
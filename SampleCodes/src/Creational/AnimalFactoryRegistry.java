@@ -0,0 +1,77 @@
+package Creational;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Service provider interface for an Abstract Factory family.
+// Implementations are listed in META-INF/services/Creational.AnimalFactoryProvider.
+// Providers should be cheap to instantiate; the expensive work belongs in create().
+interface AnimalFactoryProvider {
+    String family();
+
+    AnimalFactory create();
+}
+
+// Discovers AnimalFactory families through ServiceLoader, lazily.
+// Nothing is scanned at construction. The first request for a family walks the provider list only as far
+// as needed to find it, and only that family's factory is created. Each family is created exactly once.
+class AnimalFactoryRegistry {
+    private final Iterator<AnimalFactoryProvider> providers;
+    private final Map<String, AnimalFactoryProvider> discovered = new ConcurrentHashMap<>();
+    private final Map<String, Long> loadNanos = new ConcurrentHashMap<>();
+    private final SingletonRegistry<String, AnimalFactory> factories = new SingletonRegistry<>(this::load);
+
+    public AnimalFactoryRegistry() {
+        this(ServiceLoader.load(AnimalFactoryProvider.class));
+    }
+
+    public AnimalFactoryRegistry(ClassLoader classLoader) {
+        this(ServiceLoader.load(AnimalFactoryProvider.class, classLoader));
+    }
+
+    private AnimalFactoryRegistry(ServiceLoader<AnimalFactoryProvider> loader) {
+        // ServiceLoader's iterator loads and instantiates each provider class only when it is reached
+        this.providers = loader.iterator();
+    }
+
+    public AnimalFactory get(String family) {
+        return factories.getInstance(family);
+    }
+
+    private AnimalFactory load(String family) {
+        long start = System.nanoTime();
+        AnimalFactory factory = findProvider(family).create();
+        loadNanos.put(family, System.nanoTime() - start);
+        return factory;
+    }
+
+    private AnimalFactoryProvider findProvider(String family) {
+        AnimalFactoryProvider provider = discovered.get(family);
+        if (provider != null) {
+            return provider;
+        }
+        synchronized (providers) {
+            while ((provider = discovered.get(family)) == null && providers.hasNext()) {
+                AnimalFactoryProvider next = providers.next();
+                discovered.putIfAbsent(next.family(), next);
+            }
+        }
+        if (provider == null) {
+            throw new IllegalArgumentException("No AnimalFactory family named " + family);
+        }
+        return provider;
+    }
+
+    public boolean isLoaded(String family) {
+        return factories.contains(family);
+    }
+
+    // Nanoseconds each loaded family took to discover and create
+    public Map<String, Long> getStartupMetrics() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(loadNanos));
+    }
+}
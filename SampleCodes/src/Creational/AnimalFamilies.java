@@ -0,0 +1,31 @@
+package Creational;
+
+// ServiceLoader providers for the built-in Abstract Factory families.
+// ServiceLoader can only instantiate public classes, hence the public holder class.
+public class AnimalFamilies {
+    private AnimalFamilies() { }
+
+    public static class Wild implements AnimalFactoryProvider {
+        @Override
+        public String family() {
+            return "wild";
+        }
+
+        @Override
+        public AnimalFactory create() {
+            return new WildAnimalFactory();
+        }
+    }
+
+    public static class Pet implements AnimalFactoryProvider {
+        @Override
+        public String family() {
+            return "pet";
+        }
+
+        @Override
+        public AnimalFactory create() {
+            return new PetAnimalFactory();
+        }
+    }
+}
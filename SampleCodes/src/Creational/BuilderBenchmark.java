@@ -0,0 +1,62 @@
+package Creational;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Measures allocated bytes and time per constructed Car while many threads build concurrently,
+// comparing a fresh builder and Director per car with builders borrowed from a BuilderPool.
+// Usage: java Creational.BuilderBenchmark [threads] [carsPerThread]
+public class BuilderBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int cars = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        BuilderPool<SportsCarBuilder> pool = new BuilderPool<>(SportsCarBuilder::new, threads);
+
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+            run("new builder per car", threads, cars, report, () -> new Director(new SportsCarBuilder()).construct());
+            run("BuilderPool", threads, cars, report, pool::construct);
+        }
+        System.out.println("pool created " + pool.getCreatedCount() + " builders, discarded " + pool.getDiscardedCount());
+    }
+
+    private interface CarSource {
+        Car next();
+    }
+
+    private static void run(String label, int threads, int cars, boolean report, CarSource source)
+            throws InterruptedException {
+        LongAdder bytes = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long threadId = Thread.currentThread().threadId();
+                long before = THREADS.getThreadAllocatedBytes(threadId);
+                for (int i = 0; i < cars; i++) {
+                    sink = source.next();
+                }
+                bytes.add(THREADS.getThreadAllocatedBytes(threadId) - before);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (report) {
+            long total = (long) threads * cars;
+            System.out.printf("%-20s threads=%-3d %8.2f ns/car %8.1f bytes/car%n",
+                    label, threads, (double) elapsed / total, (double) bytes.sum() / total);
+        }
+    }
+}
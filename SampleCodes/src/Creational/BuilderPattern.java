@@ -1,5 +1,11 @@
 package Creational;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
 class Car {
     private String engine;
     private String body;
@@ -7,29 +13,98 @@ class Car {
     public void setEngine(String engine) { this.engine = engine; }
     public void setBody(String body) { this.body = body; }
     public String toString() { return "Car with " + this.engine + " engine and " + this.body + " body."; }
+    public ImmutableCar toImmutable() { return ImmutableCar.of(engine, body); }
 }
 
 interface CarBuilder {
     void buildEngine();
     void buildBody();
     Car getCar();
+    default ImmutableCar getImmutableCar() { return getCar().toImmutable(); }
+    // Detaches the car built so far, so the next build steps start on a fresh Car
+    void reset();
 }
 
 class SportsCarBuilder implements CarBuilder {
-    private Car car = new Car();
+    private Car car;
+
+    // The car is created lazily, so reset() is free and a reused builder allocates one Car per construction
+    private Car car() {
+        if (car == null) {
+            car = new Car();
+        }
+        return car;
+    }
 
-    public void buildEngine() { car.setEngine("V8 Engine"); }
-    public void buildBody() { car.setBody("Sporty Body"); }
-    public Car getCar() { return car; }
+    public void buildEngine() { car().setEngine("V8 Engine"); }
+    public void buildBody() { car().setBody("Sporty Body"); }
+    public Car getCar() { return car(); }
+    public void reset() { car = null; }
 }
 
 class Director {
     private CarBuilder builder;
     public Director(CarBuilder builder) { this.builder = builder; }
-    public Car construct() {
+    public Car construct() { return construct(builder); }
+
+    // Every call returns a new Car; the builder is reset before and after so no two callers share one
+    static Car construct(CarBuilder builder) {
+        builder.reset();
+        builder.buildEngine();
+        builder.buildBody();
+        Car car = builder.getCar();
+        builder.reset();
+        return car;
+    }
+
+    public ImmutableCar constructImmutable() {
+        builder.reset();
         builder.buildEngine();
         builder.buildBody();
-        return builder.getCar();
+        ImmutableCar car = builder.getImmutableCar();
+        builder.reset();
+        return car;
+    }
+
+    public static Car[] constructAll(Supplier<? extends CarBuilder> builders, int count) {
+        return constructAll(builders, count, ForkJoinPool.commonPool());
+    }
+
+    // Builds count cars in parallel on the given executor (a ForkJoinPool, a virtual-thread executor, ...).
+    // The range is split into contiguous chunks, each built by its own builder, so cars[i] is always the
+    // i-th car and no builder is shared between threads.
+    public static Car[] constructAll(Supplier<? extends CarBuilder> builders, int count, Executor executor) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        Car[] cars = new Car[count];
+        int parallelism = executor instanceof ForkJoinPool pool
+                ? pool.getParallelism() : Runtime.getRuntime().availableProcessors();
+        // A few chunks per worker keeps the load balanced when some workers are slower
+        int chunks = Math.max(1, Math.min(count, parallelism * 4));
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int from = (int) ((long) count * c / chunks);
+            int to = (int) ((long) count * (c + 1) / chunks);
+            tasks[c] = CompletableFuture.runAsync(() -> {
+                CarBuilder builder = builders.get();
+                for (int i = from; i < to; i++) {
+                    cars[i] = construct(builder);
+                }
+            }, executor);
+        }
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return cars;
     }
 }
 
@@ -39,5 +114,18 @@ public class BuilderPattern {
         Director director = new Director(builder);
         Car car = director.construct();
         System.out.println(car);
+        System.out.println(car == director.construct());  // false
+
+        BuilderPool<SportsCarBuilder> pool = new BuilderPool<>(SportsCarBuilder::new, 4);
+        System.out.println(pool.construct());
+
+        CarBatch batch = new CarBatch();
+        for (int i = 0; i < 3; i++) {
+            batch.add(director.constructImmutable());
+        }
+        System.out.println(batch.get(0) + " x" + batch.countWithEngine("V8 Engine"));
+
+        Car[] cars = Director.constructAll(SportsCarBuilder::new, 1000);
+        System.out.println(cars.length + " cars, first: " + cars[0]);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package Creational;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Bounded pool of reusable builders. Idle builders live in a fixed array of slots that threads claim
+// and return with CAS, so borrowing and returning a builder neither locks nor allocates.
+class BuilderPool<B extends CarBuilder> {
+    private final Supplier<? extends B> factory;
+    private final AtomicReferenceArray<B> slots;
+    private final int mask;
+    private final LongAdder created = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    public BuilderPool(Supplier<? extends B> factory, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.factory = factory;
+        // Round up to a power of two so the starting slot can be picked with a mask
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = slots.length() - 1;
+    }
+
+    // Takes an idle builder, or creates a new one if every slot is empty
+    public B acquire() {
+        int start = startSlot();
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            B builder = slots.get(index);
+            if (builder != null && slots.compareAndSet(index, builder, null)) {
+                return builder;
+            }
+        }
+        created.increment();
+        return factory.get();
+    }
+
+    // Resets the builder and returns it to the pool; it is dropped if the pool is already full
+    public void release(B builder) {
+        builder.reset();
+        int start = startSlot();
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            if (slots.get(index) == null && slots.compareAndSet(index, null, builder)) {
+                return;
+            }
+        }
+        discarded.increment();
+    }
+
+    // Builds one Car with a borrowed builder
+    public Car construct() {
+        B builder = acquire();
+        try {
+            return Director.construct(builder);
+        } finally {
+            release(builder);
+        }
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    // Spread threads over the slots so they rarely compete for the same one
+    private int startSlot() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id * 0x9E3779B9L) & mask;
+    }
+}
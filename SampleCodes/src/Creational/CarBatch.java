@@ -0,0 +1,71 @@
+package Creational;
+
+import java.util.Arrays;
+
+// Columnar store for many cars - one short[] per component instead of one object per car
+final class CarBatch {
+    private short[] engineIds;
+    private short[] bodyIds;
+    private int size;
+
+    public CarBatch() {
+        this(16);
+    }
+
+    public CarBatch(int initialCapacity) {
+        engineIds = new short[Math.max(initialCapacity, 1)];
+        bodyIds = new short[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(ImmutableCar car) {
+        add(car.getEngineId(), car.getBodyId());
+    }
+
+    public void add(String engine, String body) {
+        add(ComponentTable.ENGINES.intern(engine), ComponentTable.BODIES.intern(body));
+    }
+
+    private void add(short engineId, short bodyId) {
+        if (size == engineIds.length) {
+            engineIds = Arrays.copyOf(engineIds, size * 2);
+            bodyIds = Arrays.copyOf(bodyIds, size * 2);
+        }
+        engineIds[size] = engineId;
+        bodyIds[size] = bodyId;
+        size++;
+    }
+
+    public ImmutableCar get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return new ImmutableCar(engineIds[index], bodyIds[index]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Scans compare ids, so the component name is resolved once rather than once per car. Queries only
+    // look names up, so asking about an unknown name never grows the global tables.
+    public int countWithEngine(String engine) {
+        return count(engineIds, ComponentTable.ENGINES.find(engine));
+    }
+
+    public int countWithBody(String body) {
+        return count(bodyIds, ComponentTable.BODIES.find(body));
+    }
+
+    private int count(short[] column, short id) {
+        if (id < 0) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (column[i] == id) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,56 @@
+package Creational;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+// Measures Director.constructAll() throughput on ForkJoinPools of 1..N workers and on virtual threads.
+// Usage: java Creational.DirectorBenchmark [maxCores] [carsPerBatch]
+public class DirectorBenchmark {
+    private static final int ROUNDS = 10;
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int maxCores = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        double baseline = 0;
+        for (int step = 1; ; step *= 2) {
+            int cores = Math.min(step, maxCores);
+            ForkJoinPool pool = new ForkJoinPool(cores);
+            try {
+                double carsPerSecond = measure(count, pool);
+                if (cores == 1) {
+                    baseline = carsPerSecond;
+                }
+                System.out.printf("ForkJoinPool    cores=%-3d %,14.0f cars/s  speedup %.2fx%n",
+                        cores, carsPerSecond, carsPerSecond / baseline);
+            } finally {
+                pool.shutdown();
+            }
+            if (cores == maxCores) {
+                break;
+            }
+        }
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            double carsPerSecond = measure(count, virtualThreads);
+            System.out.printf("virtual threads           %,14.0f cars/s  speedup %.2fx%n",
+                    carsPerSecond, carsPerSecond / baseline);
+        }
+    }
+
+    private static double measure(int count, Executor executor) {
+        for (int i = 0; i < ROUNDS / 2; i++) {
+            sink = Director.constructAll(SportsCarBuilder::new, count, executor);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink = Director.constructAll(SportsCarBuilder::new, count, executor);
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) ROUNDS * count * 1e9 / elapsed;
+    }
+}
@@ -6,13 +6,13 @@ interface Animal {
 
 class Dog1 implements Animal {
     public void makeSound() {
-        System.out.println("Woof!");
+        ProductOutput.println("Woof!");
     }
 }
 
 class Cat implements Animal {
     public void makeSound() {
-        System.out.println("Meow!");
+        ProductOutput.println("Meow!");
     }
 }
 
@@ -41,5 +41,14 @@ public class FactoryMethodPattern {
         AnimalFactory1 factory2 = new CatFactory();
         Animal animal2 = factory2.createAnimal();
         animal2.makeSound();
+
+        FactoryRegistry registry = FactoryRegistry.builder()
+                .register("dog", Dog1::new, true)
+                .register("cat", new CatFactory())
+                .build();
+        registry.create("dog").makeSound();
+        int cat = registry.indexOf("cat");
+        registry.create(cat).makeSound();
+        System.out.println(registry.create("dog") == registry.create("dog"));  // true, shared stateless instance
     }
 }
\ No newline at end of file
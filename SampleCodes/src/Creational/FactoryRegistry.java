@@ -0,0 +1,174 @@
+package Creational;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Immutable table from a type name to a pre-bound Supplier<Animal>.
+// Names are resolved with a perfect hash computed when the registry is built: every registered name
+// lands in its own slot, so a lookup is one multiply, one shift and one equals check - no reflection,
+// no if-chain and no collision handling. Callers on a hot path can resolve the slot once with indexOf()
+// and then call create(int). Name sets with no perfect hash in a bounded table (for instance names with
+// equal hash codes) fall back to a map lookup instead.
+class FactoryRegistry {
+    private static final int MAX_SEED_ATTEMPTS = 1 << 12;
+    // The table is never more than 2^MAX_EXTRA_BITS times the smallest power of two twice the key count,
+    // nor larger than 2^MAX_TABLE_BITS slots
+    private static final int MAX_EXTRA_BITS = 3;
+    private static final int MAX_TABLE_BITS = 20;
+
+    private final String[] names;
+    private final Supplier<? extends Animal>[] suppliers;
+    private final Animal[] shared;
+    private final int seed;
+    private final int shift;
+    // Slot of every name when no perfect hash was found; null otherwise
+    private final Map<String, Integer> fallback;
+
+    private FactoryRegistry(String[] names, Supplier<? extends Animal>[] suppliers, Animal[] shared, int seed, int shift,
+                            Map<String, Integer> fallback) {
+        this.names = names;
+        this.suppliers = suppliers;
+        this.shared = shared;
+        this.seed = seed;
+        this.shift = shift;
+        this.fallback = fallback;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Animal create(String name) {
+        return create(indexOf(name));
+    }
+
+    public Animal create(int index) {
+        Animal animal = shared[index];
+        return animal != null ? animal : suppliers[index].get();
+    }
+
+    // Resolves a name to its slot in the table
+    public int indexOf(String name) {
+        if (fallback != null) {
+            Integer index = fallback.get(name);
+            if (index == null) {
+                throw new IllegalArgumentException("No factory registered for " + name);
+            }
+            return index;
+        }
+        int index = slot(name.hashCode(), seed, shift);
+        if (!name.equals(names[index])) {
+            throw new IllegalArgumentException("No factory registered for " + name);
+        }
+        return index;
+    }
+
+    public boolean contains(String name) {
+        if (fallback != null) {
+            return fallback.containsKey(name);
+        }
+        return name.equals(names[slot(name.hashCode(), seed, shift)]);
+    }
+
+    // False when lookups go through the fallback map
+    public boolean isPerfectHash() {
+        return fallback == null;
+    }
+
+    private static int slot(int hash, int seed, int shift) {
+        return (hash * seed) >>> shift;
+    }
+
+    static class Builder {
+        private final List<String> names = new ArrayList<>();
+        private final List<Supplier<? extends Animal>> suppliers = new ArrayList<>();
+        private final List<Boolean> stateless = new ArrayList<>();
+
+        public Builder register(String name, Supplier<? extends Animal> supplier) {
+            return register(name, supplier, false);
+        }
+
+        // Stateless products are created once and the same instance is returned on every call
+        public Builder register(String name, Supplier<? extends Animal> supplier, boolean stateless) {
+            if (names.contains(name)) {
+                throw new IllegalArgumentException("Duplicate factory name " + name);
+            }
+            names.add(name);
+            suppliers.add(supplier);
+            this.stateless.add(stateless);
+            return this;
+        }
+
+        public Builder register(String name, AnimalFactory1 factory) {
+            return register(name, factory::createAnimal, false);
+        }
+
+        public FactoryRegistry build() {
+            // Names with equal hash codes land in the same slot under every seed and table size
+            boolean distinctHashes = true;
+            Set<Integer> hashes = new HashSet<>();
+            for (String name : names) {
+                distinctHashes &= hashes.add(name.hashCode());
+            }
+            // Start with a table at least twice the key count and grow it, up to a cap, until a seed without
+            // collisions is found
+            int minBits = Math.max(1, 33 - Integer.numberOfLeadingZeros(Math.max(1, names.size())));
+            int maxBits = Math.min(MAX_TABLE_BITS, minBits + MAX_EXTRA_BITS);
+            for (int bits = minBits; distinctHashes && bits <= maxBits; bits++) {
+                int size = 1 << bits;
+                int shift = 32 - bits;
+                int seed = 0x9E3779B9;
+                // Slot i is taken in the current attempt when used[i] holds that attempt's number
+                int[] used = new int[size];
+                for (int attempt = 1; attempt <= MAX_SEED_ATTEMPTS; attempt++, seed += 0x61C88646) {
+                    int[] slots = placeAll(seed | 1, shift, used, attempt);
+                    if (slots != null) {
+                        return table(size, slots, seed | 1, shift, null);
+                    }
+                }
+            }
+            // Dense table, one slot per name in registration order, resolved through a map
+            Map<String, Integer> fallback = new ConcurrentHashMap<>();
+            int[] slots = new int[names.size()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = i;
+                fallback.put(names.get(i), i);
+            }
+            return table(slots.length, slots, 0, 0, fallback);
+        }
+
+        private FactoryRegistry table(int size, int[] slots, int seed, int shift, Map<String, Integer> fallback) {
+            String[] tableNames = new String[size];
+            @SuppressWarnings("unchecked")
+            Supplier<? extends Animal>[] tableSuppliers = (Supplier<? extends Animal>[]) new Supplier<?>[size];
+            Animal[] tableShared = new Animal[size];
+            for (int i = 0; i < names.size(); i++) {
+                tableNames[slots[i]] = names.get(i);
+                tableSuppliers[slots[i]] = suppliers.get(i);
+                if (stateless.get(i)) {
+                    tableShared[slots[i]] = suppliers.get(i).get();
+                }
+            }
+            return new FactoryRegistry(tableNames, tableSuppliers, tableShared, seed, shift, fallback);
+        }
+
+        // Slot of every name, or null if two names collide under this seed
+        private int[] placeAll(int seed, int shift, int[] used, int attempt) {
+            int[] slots = new int[names.size()];
+            for (int i = 0; i < slots.length; i++) {
+                int slot = slot(names.get(i).hashCode(), seed, shift);
+                if (used[slot] == attempt) {
+                    return null;
+                }
+                used[slot] = attempt;
+                slots[i] = slot;
+            }
+            return slots;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package Creational;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Intern table for car component names - each distinct name is stored once and referred to by a small id.
+// Id 0 is reserved for a missing (null) component.
+final class ComponentTable {
+    static final ComponentTable ENGINES = new ComponentTable();
+    static final ComponentTable BODIES = new ComponentTable();
+
+    private final ConcurrentHashMap<String, Short> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[16];
+    private int size = 1;
+
+    public short intern(String name) {
+        if (name == null) {
+            return 0;
+        }
+        Short id = ids.get(name);
+        return id != null ? id : register(name);
+    }
+
+    // Non-inserting lookup: the id of name, or -1 when it was never interned
+    public short find(String name) {
+        if (name == null) {
+            return 0;
+        }
+        Short id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    private synchronized short register(String name) {
+        Short id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (size > Short.MAX_VALUE) {
+            throw new IllegalStateException("More than " + Short.MAX_VALUE + " distinct component names");
+        }
+        String[] current = names;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[size] = name;
+        // Publish the array before the id, so a reader that finds the id also sees the name
+        names = current;
+        id = (short) size++;
+        ids.put(name, id);
+        return id;
+    }
+
+    public String name(short id) {
+        return names[id];
+    }
+}
+
+// Immutable, compact car - engine and body are interned ids, and the description is only rendered the
+// first time toString() is called
+final class ImmutableCar {
+    private final short engineId;
+    private final short bodyId;
+    // Racy single-check cache: a String is safely published, so at worst two threads both render it
+    private String description;
+
+    ImmutableCar(short engineId, short bodyId) {
+        this.engineId = engineId;
+        this.bodyId = bodyId;
+    }
+
+    public static ImmutableCar of(String engine, String body) {
+        return new ImmutableCar(ComponentTable.ENGINES.intern(engine), ComponentTable.BODIES.intern(body));
+    }
+
+    public String getEngine() { return ComponentTable.ENGINES.name(engineId); }
+    public String getBody() { return ComponentTable.BODIES.name(bodyId); }
+    short getEngineId() { return engineId; }
+    short getBodyId() { return bodyId; }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ImmutableCar other && engineId == other.engineId && bodyId == other.bodyId;
+    }
+
+    @Override
+    public int hashCode() {
+        return engineId << 16 | (bodyId & 0xFFFF);
+    }
+
+    public String toString() {
+        String result = description;
+        if (result == null) {
+            result = "Car with " + getEngine() + " engine and " + getBody() + " body.";
+            description = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,241 @@
+package Creational;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Where product behaviours write their output
+interface OutputSink {
+    void println(String line);
+
+    default void flush() { }
+}
+
+// The sink products write to; System.out by default
+final class ProductOutput {
+    private static volatile OutputSink sink = new PrintStreamSink();
+
+    private ProductOutput() { }
+
+    public static void println(String line) {
+        sink.println(line);
+    }
+
+    public static OutputSink get() {
+        return sink;
+    }
+
+    // Installs a new sink and returns the previous one
+    public static OutputSink set(OutputSink newSink) {
+        if (newSink == null) {
+            throw new NullPointerException("sink");
+        }
+        OutputSink previous = sink;
+        sink = newSink;
+        return previous;
+    }
+}
+
+// Synchronous sink - writes straight to a PrintStream (System.out unless given another stream)
+class PrintStreamSink implements OutputSink {
+    private final PrintStream stream;
+
+    public PrintStreamSink() {
+        this(null);
+    }
+
+    public PrintStreamSink(PrintStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void println(String line) {
+        // Look System.out up on every call so System.setOut() is honoured
+        (stream != null ? stream : System.out).println(line);
+    }
+
+    @Override
+    public void flush() {
+        (stream != null ? stream : System.out).flush();
+    }
+}
+
+// Synchronous sink that keeps every line in memory, for tests
+class RecordingSink implements OutputSink {
+    private final List<String> lines = new ArrayList<>();
+
+    @Override
+    public synchronized void println(String line) {
+        lines.add(line);
+    }
+
+    public synchronized List<String> getLines() {
+        return new ArrayList<>(lines);
+    }
+}
+
+// Asynchronous batching sink. Writers claim a slot in a ring buffer with one atomic increment and return
+// immediately; a single drain thread encodes published lines into a direct buffer and hands them to the
+// channel in large writes. When the ring is full, writers wait for the drain thread (backpressure).
+class AsyncBatchingSink implements OutputSink, AutoCloseable {
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    private final WritableByteChannel channel;
+    private final AtomicReferenceArray<String> ring;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    // Lines whose ring slots are free again; they may still sit in the write buffer
+    private volatile long drained;
+    // Lines that have reached the channel, published after every write
+    private volatile long written;
+    // Lines fully encoded into the write buffer; drain thread only
+    private long encoded;
+    private volatile boolean closed;
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final Thread drainer;
+    private volatile IOException failure;
+
+    // Drains to the process's standard output
+    public AsyncBatchingSink() {
+        this(new FileOutputStream(FileDescriptor.out).getChannel(), 1 << 14, 1 << 16);
+    }
+
+    public AsyncBatchingSink(WritableByteChannel channel, int ringCapacity, int writeBufferBytes) {
+        if (Integer.bitCount(ringCapacity) != 1) {
+            throw new IllegalArgumentException("ringCapacity must be a power of two: " + ringCapacity);
+        }
+        this.channel = channel;
+        this.ring = new AtomicReferenceArray<>(ringCapacity);
+        this.published = new AtomicLongArray(ringCapacity);
+        for (int i = 0; i < ringCapacity; i++) {
+            published.set(i, -1);
+        }
+        this.mask = ringCapacity - 1;
+        this.buffer = ByteBuffer.allocateDirect(writeBufferBytes);
+        this.drainer = new Thread(this::drainLoop, "async-output-sink");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    @Override
+    public void println(String line) {
+        if (closed) {
+            throw new IllegalStateException("Sink is closed");
+        }
+        long sequence = claimed.getAndIncrement();
+        while (sequence - drained >= ring.length()) {
+            // A dead drain thread never frees a slot, so fail instead of waiting forever
+            if (!drainer.isAlive()) {
+                throw drainFailure();
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        int index = (int) sequence & mask;
+        // As PrintStream does; a null in the ring would stop the drain thread
+        ring.set(index, String.valueOf(line));
+        published.set(index, sequence);
+    }
+
+    // Blocks until everything written before this call has reached the channel
+    @Override
+    public void flush() {
+        long target = claimed.get();
+        while (written < target && drainer.isAlive()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        if (written < target) {
+            throw drainFailure();
+        }
+    }
+
+    private RuntimeException drainFailure() {
+        return failure != null
+                ? new UncheckedIOException(failure)
+                : new IllegalStateException("Sink is closed or its drain thread has stopped");
+    }
+
+    @Override
+    public void close() {
+        flush();
+        closed = true;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        long next = 0;
+        try {
+            while (!closed || next < claimed.get()) {
+                int index = (int) next & mask;
+                if (published.get(index) != next) {
+                    // Nothing new: write out what has been batched so far, then wait
+                    writeBuffer();
+                    drained = next;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                String line = ring.get(index);
+                ring.set(index, null);
+                encode(line);
+                next++;
+                if ((next & 0xFF) == 0) {
+                    // Free ring slots regularly so writers are not held back until the buffer fills; the
+                    // lines are not written yet, so flush() keeps waiting on written
+                    drained = next;
+                }
+            }
+            writeBuffer();
+            drained = next;
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void encode(String line) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                writeBuffer();
+            } else {
+                encoder.reset();
+                break;
+            }
+        }
+        if (!buffer.hasRemaining()) {
+            writeBuffer();
+        }
+        buffer.put((byte) '\n');
+        encoded++;
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        // A line split by a buffer overflow is not counted until its remainder is written
+        written = encoded;
+    }
+}
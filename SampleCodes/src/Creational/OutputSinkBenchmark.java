@@ -0,0 +1,60 @@
+package Creational;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compares the synchronous PrintStreamSink with AsyncBatchingSink while many threads call product methods.
+// Both sinks write to a null stream, so the numbers show locking and batching cost rather than terminal speed.
+// Usage: java Creational.OutputSinkBenchmark [writers] [linesPerWriter]
+public class OutputSinkBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int writers = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int lines = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+            run("PrintStreamSink", writers, lines, report,
+                    new PrintStreamSink(new PrintStream(OutputStream.nullOutputStream())));
+            try (AsyncBatchingSink async = new AsyncBatchingSink(
+                    Channels.newChannel(OutputStream.nullOutputStream()), 1 << 14, 1 << 16)) {
+                run("AsyncBatchingSink", writers, lines, report, async);
+            }
+        }
+    }
+
+    private static void run(String label, int writers, int lines, boolean report, OutputSink sink)
+            throws InterruptedException {
+        OutputSink previous = ProductOutput.set(sink);
+        try {
+            Dog dog = new WildAnimalFactory().createDog();
+            List<Thread> threads = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int w = 0; w < writers; w++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < lines; i++) {
+                        dog.speak();
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            long written = System.nanoTime() - start;
+            sink.flush();
+            long flushed = System.nanoTime() - start;
+
+            if (report) {
+                long total = (long) writers * lines;
+                System.out.printf("%-18s writers=%-3d %8.1f ns/line for writers %8.1f ns/line until flushed%n",
+                        label, writers, (double) written / total, (double) flushed / total);
+            }
+        } finally {
+            ProductOutput.set(previous);
+        }
+    }
+}
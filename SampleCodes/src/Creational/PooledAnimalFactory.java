@@ -0,0 +1,119 @@
+package Creational;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Pooling decorator for any AnimalFactory. Products are stateless, so instances handed back with
+// release() can be handed out again. Each thread first uses its own small cache (no synchronization),
+// then a bounded shared pool, and only then asks the wrapped factory for a new product. release() only
+// keeps products of the class the wrapped factory creates, so a pool never mixes families.
+class PooledAnimalFactory implements AnimalFactory {
+    private final Pool<Dog> dogs;
+    private final Pool<Tiger> tigers;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder foreign = new LongAdder();
+
+    public PooledAnimalFactory(AnimalFactory factory, int perThreadCapacity, int sharedCapacity) {
+        if (perThreadCapacity < 0 || sharedCapacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacities: perThread=" + perThreadCapacity
+                    + ", shared=" + sharedCapacity);
+        }
+        this.dogs = new Pool<>(factory::createDog, perThreadCapacity, sharedCapacity);
+        this.tigers = new Pool<>(factory::createTiger, perThreadCapacity, sharedCapacity);
+    }
+
+    @Override
+    public Dog createDog() {
+        return dogs.acquire();
+    }
+
+    @Override
+    public Tiger createTiger() {
+        return tigers.acquire();
+    }
+
+    public void release(Dog dog) {
+        dogs.release(dog);
+    }
+
+    public void release(Tiger tiger) {
+        tigers.release(tiger);
+    }
+
+    // Products served from a cache or the shared pool
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    // Products the wrapped factory had to create
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    // Released products dropped because the thread cache and the shared pool were both full
+    public long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    // Released products dropped because the wrapped factory does not create their class
+    public long getForeignCount() {
+        return foreign.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "PooledAnimalFactory[hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", overflows=" + getOverflowCount() + ", foreign=" + getForeignCount() + "]";
+    }
+
+    private final class Pool<T> {
+        private final Supplier<T> factory;
+        private final int perThreadCapacity;
+        private final ThreadLocal<ArrayDeque<T>> local;
+        private final ArrayBlockingQueue<T> shared;
+        // Class of the products the wrapped factory creates; null until it has created one
+        private volatile Class<?> productClass;
+
+        Pool(Supplier<T> factory, int perThreadCapacity, int sharedCapacity) {
+            this.factory = factory;
+            this.perThreadCapacity = perThreadCapacity;
+            this.local = ThreadLocal.withInitial(() -> new ArrayDeque<>(perThreadCapacity));
+            this.shared = new ArrayBlockingQueue<>(sharedCapacity);
+        }
+
+        T acquire() {
+            T product = local.get().pollFirst();
+            if (product == null) {
+                product = shared.poll();
+            }
+            if (product != null) {
+                hits.increment();
+                return product;
+            }
+            misses.increment();
+            product = factory.get();
+            if (productClass == null && product != null) {
+                productClass = product.getClass();
+            }
+            return product;
+        }
+
+        void release(T product) {
+            if (product == null || product.getClass() != productClass) {
+                foreign.increment();
+                return;
+            }
+            ArrayDeque<T> cache = local.get();
+            if (cache.size() < perThreadCapacity) {
+                cache.addFirst(product);
+            } else if (!shared.offer(product)) {
+                overflows.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package Creational;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+// Compares allocation rate and throughput of an eager-copy prototype, which copies its attribute map on
+// every clone, with copy-on-write PrototypeRegistry clones holding the same attributes.
+// Usage: java Creational.PrototypeBenchmark [attributes] [clonesPerRound]
+public class PrototypeBenchmark {
+    private static final int ROUNDS = 20;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int attributes = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        EagerPrototype eager = new EagerPrototype("Prototype1");
+        CowPrototype template = new CowPrototype("Prototype1");
+        for (int i = 0; i < attributes; i++) {
+            eager.attributes.put("key" + i, "value" + i);
+            template.setAttribute("key" + i, "value" + i);
+        }
+        PrototypeRegistry registry = new PrototypeRegistry();
+        registry.register("template", template);
+        CowPrototype[] target = new CowPrototype[count];
+
+        run("eager clone() + write", count, () -> {
+            for (int i = 0; i < count; i++) {
+                EagerPrototype clone = eager.clone();
+                clone.attributes.put("key0", "changed");
+                sink = clone;
+            }
+        });
+        run("eager clone()", count, () -> {
+            for (int i = 0; i < count; i++) {
+                sink = eager.clone();
+            }
+        });
+        run("registry.clone() + write", count, () -> {
+            for (int i = 0; i < count; i++) {
+                CowPrototype clone = registry.clone("template");
+                clone.setAttribute("key0", "changed");
+                sink = clone;
+            }
+        });
+        run("registry.clone()", count, () -> {
+            for (int i = 0; i < count; i++) {
+                sink = registry.clone("template");
+            }
+        });
+        run("registry.cloneInto()", count, () -> {
+            registry.cloneInto("template", target, 0, count);
+            sink = target;
+        });
+    }
+
+    private static void run(String label, int count, Runnable round) {
+        for (int i = 0; i < ROUNDS / 2; i++) {
+            round.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            round.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        long clones = (long) ROUNDS * count;
+        System.out.printf("%-28s %8.2f ns/clone %8.1f bytes/clone %10.1f MB/s allocated%n",
+                label, (double) elapsed / clones, (double) bytes / clones, bytes * 1e3 / elapsed);
+    }
+
+    // Baseline: a conventional prototype that copies its attribute map on every clone
+    static final class EagerPrototype implements Prototype {
+        final String name;
+        final Map<String, String> attributes;
+
+        EagerPrototype(String name) {
+            this(name, new HashMap<>());
+        }
+
+        private EagerPrototype(String name, Map<String, String> attributes) {
+            this.name = name;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public EagerPrototype clone() {
+            return new EagerPrototype(name, new HashMap<>(attributes));
+        }
+    }
+}
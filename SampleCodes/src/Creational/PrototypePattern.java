@@ -22,5 +22,15 @@ public class PrototypePattern {
         ConcretePrototype prototype2 = new ConcretePrototype("Prototype2");
         ConcretePrototype cloned2 = (ConcretePrototype) prototype2.clone();
         System.out.println(cloned2);
+
+        CowPrototype template = new CowPrototype("Prototype3");
+        template.setAttribute("color", "red");
+        PrototypeRegistry registry = new PrototypeRegistry();
+        registry.register("red", template);
+        CowPrototype[] clones = registry.cloneN("red", 3);
+        clones[1].setAttribute("color", "blue");
+        for (CowPrototype clone : clones) {
+            System.out.println(clone + " shared: " + clone.isShared());
+        }
     }
 }
\ No newline at end of file
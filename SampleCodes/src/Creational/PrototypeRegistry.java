@@ -0,0 +1,95 @@
+package Creational;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Copy-on-write prototype - a clone shares its parent's attribute map and only copies it on the first write
+class CowPrototype implements Prototype {
+    private final String name;
+    private Map<String, String> attributes;
+    private boolean owned;
+
+    public CowPrototype(String name) {
+        this(name, new HashMap<>(), true);
+    }
+
+    private CowPrototype(String name, Map<String, String> attributes, boolean owned) {
+        this.name = name;
+        this.attributes = attributes;
+        this.owned = owned;
+    }
+
+    @Override
+    public CowPrototype clone() {
+        // From now on both copies share the map, so neither may write to it in place. Frozen prototypes are
+        // cloned by many threads at once, so only write the field when it actually changes.
+        if (owned) {
+            owned = false;
+        }
+        return new CowPrototype(name, attributes, false);
+    }
+
+    public String getName() { return name; }
+
+    public String getAttribute(String key) { return attributes.get(key); }
+
+    public Map<String, String> getAttributes() { return Collections.unmodifiableMap(attributes); }
+
+    public void setAttribute(String key, String value) {
+        if (!owned) {
+            attributes = new HashMap<>(attributes);
+            owned = true;
+        }
+        attributes.put(key, value);
+    }
+
+    // True while this object still shares its state with the prototype it was cloned from (or a clone of it)
+    boolean isShared() { return !owned; }
+
+    public String toString() { return name + attributes; }
+}
+
+// Registry of named prototypes that hands out copy-on-write clones
+class PrototypeRegistry {
+    private final ConcurrentHashMap<String, CowPrototype> prototypes = new ConcurrentHashMap<>();
+
+    // Registers a frozen copy of the prototype, so later writes to the caller's object do not leak into clones
+    public void register(String name, CowPrototype prototype) {
+        prototypes.put(name, prototype.clone());
+    }
+
+    public boolean unregister(String name) {
+        return prototypes.remove(name) != null;
+    }
+
+    public CowPrototype clone(String name) {
+        return lookup(name).clone();
+    }
+
+    public CowPrototype[] cloneN(String name, int count) {
+        CowPrototype[] clones = new CowPrototype[count];
+        cloneInto(name, clones, 0, count);
+        return clones;
+    }
+
+    // Fills target[offset .. offset + count) with clones, resolving the prototype only once
+    public void cloneInto(String name, CowPrototype[] target, int offset, int count) {
+        if (offset < 0 || count < 0 || offset > target.length - count) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", count " + count + ", length " + target.length);
+        }
+        CowPrototype prototype = lookup(name);
+        for (int i = offset, end = offset + count; i < end; i++) {
+            target[i] = prototype.clone();
+        }
+    }
+
+    private CowPrototype lookup(String name) {
+        CowPrototype prototype = prototypes.get(name);
+        if (prototype == null) {
+            throw new IllegalArgumentException("No prototype registered as " + name);
+        }
+        return prototype;
+    }
+}
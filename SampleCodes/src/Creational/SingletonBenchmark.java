@@ -0,0 +1,133 @@
+package Creational;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Measures SingletonVariant.getInstance() throughput at 1..N threads.
+// Every variant runs in a forked JVM so that "cold" really is the first call and call sites stay monomorphic.
+// Usage: java Creational.SingletonBenchmark [maxThreads]
+public class SingletonBenchmark {
+    private static final long WARMUP_MILLIS = 500;
+    private static final long MEASURE_MILLIS = 1000;
+
+    // Volatile reads the JIT cannot hoist, so the getInstance() result is consumed on every iteration
+    private static volatile Object sinkA = new Object();
+    private static volatile Object sinkB = new Object();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].equals("cold")) {
+            runCold(SingletonVariant.valueOf(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+        if (args.length == 3 && args[0].equals("steady")) {
+            runSteady(SingletonVariant.valueOf(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        for (SingletonVariant variant : SingletonVariant.values()) {
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                fork("cold", variant.name(), String.valueOf(threads));
+            }
+            fork("steady", variant.name(), String.valueOf(maxThreads));
+        }
+    }
+
+    private static void fork(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SingletonBenchmark.class.getName());
+        command.addAll(List.of(args));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                System.out.println(line);
+            }
+        }
+        process.waitFor();
+    }
+
+    // All threads race on the very first getInstance() call; reports the time until every thread has its instance
+    private static void runCold(SingletonVariant variant, int threads) throws InterruptedException {
+        Object[] seen = new Object[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    seen[index] = variant.getInstance();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+
+        boolean single = true;
+        for (Object instance : seen) {
+            single &= instance == seen[0];
+        }
+        System.out.printf("%-15s cold   threads=%-3d %,10d ns  single instance: %b%n", variant, threads, elapsed, single);
+    }
+
+    // Steady-state throughput once the instance exists, doubling the thread count up to maxThreads
+    private static void runSteady(SingletonVariant variant, int maxThreads) throws InterruptedException {
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            LongAdder operations = new LongAdder();
+            AtomicBoolean measuring = new AtomicBoolean();
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<Thread> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Thread worker = new Thread(() -> {
+                    long ops = 0;
+                    while (running.get()) {
+                        for (int j = 0; j < 1024; j++) {
+                            consume(variant.getInstance());
+                        }
+                        if (measuring.get()) {
+                            ops += 1024;
+                        }
+                    }
+                    operations.add(ops);
+                });
+                workers.add(worker);
+                worker.start();
+            }
+
+            Thread.sleep(WARMUP_MILLIS);
+            measuring.set(true);
+            Thread.sleep(MEASURE_MILLIS);
+            running.set(false);
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            System.out.printf("%-15s steady threads=%-3d %,14d ops/s%n",
+                    variant, threads, operations.sum() * 1000 / MEASURE_MILLIS);
+        }
+    }
+
+    private static void consume(Object instance) {
+        if (instance == sinkA & instance == sinkB) {
+            sinkA = instance;
+        }
+    }
+}
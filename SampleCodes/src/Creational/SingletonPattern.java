@@ -1,5 +1,10 @@
 package Creational;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Supplier;
+
+// Lazy singleton - not thread-safe, concurrent first calls may create more than one instance
 class Singleton {
     private static Singleton instance;
 
@@ -13,10 +18,111 @@ class Singleton {
     }
 }
 
+// Initialization-on-demand holder - the JVM runs Holder's initializer exactly once, on first use
+class HolderSingleton {
+    private HolderSingleton() { }
+
+    private static class Holder {
+        private static final HolderSingleton INSTANCE = new HolderSingleton();
+    }
+
+    public static HolderSingleton getInstance() {
+        return Holder.INSTANCE;
+    }
+}
+
+// Double-checked locking - the volatile field makes the published instance fully constructed
+class DoubleCheckedSingleton {
+    private static volatile DoubleCheckedSingleton instance;
+
+    private DoubleCheckedSingleton() { }
+
+    public static DoubleCheckedSingleton getInstance() {
+        DoubleCheckedSingleton result = instance;
+        if (result == null) {
+            synchronized (DoubleCheckedSingleton.class) {
+                result = instance;
+                if (result == null) {
+                    result = new DoubleCheckedSingleton();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+}
+
+// Double-checked locking with acquire/release access instead of a full volatile read on every call
+class VarHandleSingleton {
+    private static final VarHandle INSTANCE_HANDLE;
+    private static VarHandleSingleton instance;
+
+    static {
+        try {
+            INSTANCE_HANDLE = MethodHandles.lookup()
+                    .findStaticVarHandle(VarHandleSingleton.class, "instance", VarHandleSingleton.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private VarHandleSingleton() { }
+
+    public static VarHandleSingleton getInstance() {
+        VarHandleSingleton result = (VarHandleSingleton) INSTANCE_HANDLE.getAcquire();
+        if (result == null) {
+            synchronized (VarHandleSingleton.class) {
+                result = instance;
+                if (result == null) {
+                    result = new VarHandleSingleton();
+                    INSTANCE_HANDLE.setRelease(result);
+                }
+            }
+        }
+        return result;
+    }
+}
+
+// Enum singleton - thread-safe and also safe against reflection and serialization
+enum EnumSingleton {
+    INSTANCE;
+
+    public static EnumSingleton getInstance() {
+        return INSTANCE;
+    }
+}
+
+// Common accessor over the thread-safe variants
+enum SingletonVariant {
+    HOLDER(HolderSingleton::getInstance),
+    DOUBLE_CHECKED(DoubleCheckedSingleton::getInstance),
+    VAR_HANDLE(VarHandleSingleton::getInstance),
+    ENUM(EnumSingleton::getInstance);
+
+    private final Supplier<Object> accessor;
+
+    SingletonVariant(Supplier<Object> accessor) {
+        this.accessor = accessor;
+    }
+
+    public Object getInstance() {
+        return accessor.get();
+    }
+}
+
 public class SingletonPattern {
     public static void main(String[] args) {
         Singleton s1 = Singleton.getInstance();
         Singleton s2 = Singleton.getInstance();
         System.out.println(s1 == s2);  // true
+
+        for (SingletonVariant variant : SingletonVariant.values()) {
+            System.out.println(variant + ": " + (variant.getInstance() == variant.getInstance()));  // true
+        }
+
+        SingletonRegistry<String, StringBuilder> registry = new SingletonRegistry<>(tenant -> new StringBuilder(tenant));
+        System.out.println(registry.getInstance("tenant-a") == registry.getInstance("tenant-a"));  // true
+        System.out.println(registry.getInstance("tenant-a") == registry.getInstance("tenant-b"));  // false
+        System.out.println(registry);
     }
-}
\ No newline at end of file
+}
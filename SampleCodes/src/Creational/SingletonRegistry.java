@@ -0,0 +1,157 @@
+package Creational;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Keyed singleton registry - one lazily created instance per key (e.g. per tenant).
+// Initialization is striped per key: each key has its own entry and its own lock, so a slow
+// constructor for one key never blocks lookups or initialization of any other key.
+class SingletonRegistry<K, V> {
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Function<? super K, ? extends V> factory;
+    private final long idleTimeoutNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder initializationNanos = new LongAdder();
+
+    // Registry whose instances are never evicted
+    public SingletonRegistry(Function<? super K, ? extends V> factory) {
+        this(factory, 0, TimeUnit.NANOSECONDS);
+    }
+
+    // Registry whose instances become eligible for evictIdle() after idleTimeout without a lookup
+    public SingletonRegistry(Function<? super K, ? extends V> factory, long idleTimeout, TimeUnit unit) {
+        if (factory == null) {
+            throw new NullPointerException("factory");
+        }
+        if (idleTimeout < 0) {
+            throw new IllegalArgumentException("idleTimeout must not be negative: " + idleTimeout);
+        }
+        this.factory = factory;
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+    }
+
+    public V getInstance(K key) {
+        Entry<V> entry;
+        V value;
+        while (true) {
+            entry = entries.get(key);
+            if (entry == null) {
+                // Creating the empty entry is cheap, so computeIfAbsent only holds the map bin very briefly
+                entry = entries.computeIfAbsent(key, k -> new Entry<>());
+            }
+            value = entry.value;
+            if (value != null) {
+                hits.increment();
+                break;
+            }
+            value = initialize(key, entry);
+            if (value != null) {
+                break;
+            }
+        }
+        if (idleTimeoutNanos > 0) {
+            touch(entry);
+        }
+        return value;
+    }
+
+    // Returns null when the entry was dropped by a failed construction before this thread got its lock;
+    // constructing into that orphan would let a later lookup create a second instance for the key
+    private V initialize(K key, Entry<V> entry) {
+        synchronized (entry) {
+            V value = entry.value;
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+            if (entries.get(key) != entry) {
+                return null;
+            }
+            misses.increment();
+            long start = System.nanoTime();
+            try {
+                value = factory.apply(key);
+            } catch (RuntimeException | Error e) {
+                // Drop the failed entry so the next lookup retries the construction
+                entries.remove(key, entry);
+                throw e;
+            } finally {
+                initializationNanos.add(System.nanoTime() - start);
+            }
+            if (value == null) {
+                entries.remove(key, entry);
+                throw new NullPointerException("factory returned null for key " + key);
+            }
+            entry.value = value;
+            return value;
+        }
+    }
+
+    // Hot keys are read by many threads, so only write the timestamp when it is noticeably stale
+    private void touch(Entry<V> entry) {
+        long now = System.nanoTime();
+        if (now - entry.lastAccessNanos > idleTimeoutNanos >>> 4) {
+            entry.lastAccessNanos = now;
+        }
+    }
+
+    // Removes every initialized instance that has not been looked up within the idle timeout.
+    // Callers that still hold an evicted instance keep using it; the next lookup creates a fresh one.
+    public int evictIdle() {
+        if (idleTimeoutNanos == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (var mapping : entries.entrySet()) {
+            Entry<V> entry = mapping.getValue();
+            if (entry.value != null && now - entry.lastAccessNanos > idleTimeoutNanos
+                    && entries.remove(mapping.getKey(), entry)) {
+                evicted++;
+            }
+        }
+        evictions.add(evicted);
+        return evicted;
+    }
+
+    public boolean contains(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && entry.value != null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInitializationNanos() {
+        return initializationNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "SingletonRegistry[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + ", initNanos=" + getInitializationNanos() + "]";
+    }
+
+    private static final class Entry<V> {
+        volatile V value;
+        volatile long lastAccessNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,178 @@
+package Structural;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Asynchronous counterpart of the RemoteControl calls. Every RemoteControl implementation gets its own
+// lane: a bounded queue drained by maxInFlight virtual threads, so at most maxInFlight calls run per
+// implementation and at most queueCapacity more wait. When a lane is full the returned future fails at
+// once with a RejectedExecutionException; callers see the overload instead of piling up unbounded work,
+// and a slow implementation never holds up the lanes of the others.
+class AsyncRemoteDispatcher implements AutoCloseable {
+    private final int maxInFlight;
+    private final int queueCapacity;
+    private final ConcurrentHashMap<Class<? extends RemoteControl>, Lane> lanes = new ConcurrentHashMap<>();
+    // Runs callers' continuations, which would otherwise hold a lane worker and so one in-flight slot
+    private final ExecutorService callbacks = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean closed;
+
+    public AsyncRemoteDispatcher(int maxInFlight, int queueCapacity) {
+        if (maxInFlight <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Invalid limits: " + maxInFlight + " in flight, " + queueCapacity + " queued");
+        }
+        this.maxInFlight = maxInFlight;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public CompletableFuture<Void> turnOn(RemoteControl remote) {
+        return submit(remote, DeviceCommand.TURN_ON);
+    }
+
+    public CompletableFuture<Void> turnOff(RemoteControl remote) {
+        return submit(remote, DeviceCommand.TURN_OFF);
+    }
+
+    // Never blocks; the future completes when the remote call returns, or fails with its exception
+    public CompletableFuture<Void> submit(RemoteControl remote, DeviceCommand command) {
+        return enqueue(remote, command, null);
+    }
+
+    // Asynchronous RemoteControl.submit: commands[0..count) are copied and sent as one batched call, which
+    // takes a single in-flight slot of the remote's lane
+    public CompletableFuture<Void> submitAll(RemoteControl remote, DeviceCommand[] commands, int count) {
+        return enqueue(remote, null, Arrays.copyOf(commands, count));
+    }
+
+    private CompletableFuture<Void> enqueue(RemoteControl remote, DeviceCommand command, DeviceCommand[] batch) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new RejectedExecutionException("Dispatcher is closed"));
+            return result;
+        }
+        Lane lane = lanes.computeIfAbsent(remote.getClass(), Lane::new);
+        if (closed) {
+            // close() may have finished before this lane was created, so nothing else stops its workers
+            lane.shutdown();
+            result.completeExceptionally(new RejectedExecutionException("Dispatcher is closed"));
+        } else if (!lane.queue.offer(new Call(remote, command, batch, result))) {
+            lane.rejected.increment();
+            result.completeExceptionally(new RejectedExecutionException(
+                    remote.getClass().getSimpleName() + " has " + queueCapacity + " calls queued"));
+        } else if (closed) {
+            lane.cancelQueued(); // close() may already have drained the queue
+        }
+        return result;
+    }
+
+    // Executor for continuations of the returned futures (thenRunAsync and similar); it stops accepting
+    // work on close
+    public Executor callbackExecutor() {
+        return callbacks;
+    }
+
+    public int getQueuedCount(Class<? extends RemoteControl> implementation) {
+        Lane lane = lanes.get(implementation);
+        return lane == null ? 0 : lane.queue.size();
+    }
+
+    public long getRejectedCount(Class<? extends RemoteControl> implementation) {
+        Lane lane = lanes.get(implementation);
+        return lane == null ? 0 : lane.rejected.sum();
+    }
+
+    // Stops the workers; queued calls fail with a RejectedExecutionException, running calls are interrupted
+    @Override
+    public void close() {
+        closed = true;
+        for (Lane lane : lanes.values()) {
+            lane.shutdown();
+        }
+        callbacks.close();
+    }
+
+    // A single command, or a batch (command is then null)
+    private record Call(RemoteControl remote, DeviceCommand command, DeviceCommand[] batch,
+                        CompletableFuture<Void> result) {
+        void run() {
+            try {
+                if (batch != null) {
+                    remote.submit(batch, batch.length);
+                } else if (command == DeviceCommand.TURN_ON) {
+                    remote.turnOn();
+                } else {
+                    remote.turnOff();
+                }
+                result.complete(null);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private final class Lane {
+        final ArrayBlockingQueue<Call> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final LongAdder rejected = new LongAdder();
+        final Thread[] workers = new Thread[maxInFlight];
+
+        Lane(Class<? extends RemoteControl> implementation) {
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = Thread.ofVirtual().name(implementation.getSimpleName() + "-", i).start(this::work);
+            }
+        }
+
+        private void work() {
+            while (!closed) {
+                try {
+                    queue.take().run();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        void shutdown() {
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+            cancelQueued();
+        }
+
+        void cancelQueued() {
+            for (Call call; (call = queue.poll()) != null; ) {
+                call.result.completeExceptionally(new RejectedExecutionException("Dispatcher is closed"));
+            }
+        }
+    }
+}
+
+// Asynchronous counterpart of a Device: the remote call runs on the dispatcher, and the device completes
+// the command on the dispatcher's callback executor once the remote has acknowledged it
+class AsyncDevice {
+    private final Device device;
+    private final AsyncRemoteDispatcher dispatcher;
+
+    public AsyncDevice(Device device, AsyncRemoteDispatcher dispatcher) {
+        this.device = device;
+        this.dispatcher = dispatcher;
+    }
+
+    public CompletableFuture<Void> turnOn() {
+        return send(DeviceCommand.TURN_ON);
+    }
+
+    public CompletableFuture<Void> turnOff() {
+        return send(DeviceCommand.TURN_OFF);
+    }
+
+    private CompletableFuture<Void> send(DeviceCommand command) {
+        return dispatcher.submit(device.getRemote(), command)
+                .thenRunAsync(() -> device.completed(command), dispatcher.callbackExecutor());
+    }
+}
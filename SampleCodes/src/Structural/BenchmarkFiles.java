@@ -0,0 +1,44 @@
+package Structural;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Test data and formatting shared by the file and drive benchmarks
+final class BenchmarkFiles {
+    private BenchmarkFiles() { }
+
+    // Creates a temporary file of size bytes filled with a repeating 0..255 pattern
+    static Path createPatternFile(String prefix, long size) throws IOException {
+        Path file = Files.createTempFile(prefix, ".bin");
+        writePattern(file, size);
+        return file;
+    }
+
+    static void writePattern(Path file, long size) throws IOException {
+        ByteBuffer block = ByteBuffer.allocateDirect(1 << 20);
+        for (int i = 0; i < block.capacity(); i++) {
+            block.put((byte) i);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long written = 0; written < size; ) {
+                block.clear().limit((int) Math.min(block.capacity(), size - written));
+                written += channel.write(block);
+            }
+        }
+    }
+
+    static String humanSize(long bytes) {
+        if (bytes >= 1L << 30) {
+            return (bytes >> 30) + " GB";
+        }
+        if (bytes >= 1L << 20) {
+            return (bytes >> 20) + " MB";
+        }
+        return (bytes >> 10) + " KB";
+    }
+}
@@ -0,0 +1,74 @@
+package Structural;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Per-step timings of a pipelined boot. A step that runs several times (one run per chunk) is reported
+// once: when it first started and last ended relative to the boot, and how long its runs took in total.
+class BootTimings {
+    private final long bootStart = System.nanoTime();
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+
+    public Runnable timed(String step, Runnable action) {
+        return () -> timed(step, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T timed(String step, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            steps.computeIfAbsent(step, name -> new Step()).record(start - bootStart, System.nanoTime() - bootStart);
+        }
+    }
+
+    public long getBusyNanos(String step) {
+        Step timing = steps.get(step);
+        return timing == null ? 0 : timing.busyNanos();
+    }
+
+    // Nanoseconds from the start of the boot until the last step finished
+    public long getTotalNanos() {
+        long end = 0;
+        for (Step step : steps.values()) {
+            end = Math.max(end, step.lastEnd());
+        }
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        steps.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().firstStart()))
+                .forEach(entry -> report.append(String.format("%-8s start +%8.3f ms  end +%8.3f ms  busy %8.3f ms  runs %d%n",
+                        entry.getKey(), entry.getValue().firstStart() / 1e6, entry.getValue().lastEnd() / 1e6,
+                        entry.getValue().busyNanos() / 1e6, entry.getValue().runs())));
+        report.append(String.format("total    %8.3f ms%n", getTotalNanos() / 1e6));
+        return report.toString();
+    }
+
+    private static final class Step {
+        private long firstStart = Long.MAX_VALUE;
+        private long lastEnd;
+        private long busy;
+        private int runs;
+
+        synchronized void record(long start, long end) {
+            firstStart = Math.min(firstStart, start);
+            lastEnd = Math.max(lastEnd, end);
+            busy += end - start;
+            runs++;
+        }
+
+        synchronized long firstStart() { return firstStart; }
+        synchronized long lastEnd() { return lastEnd; }
+        synchronized long busyNanos() { return busy; }
+        synchronized int runs() { return runs; }
+    }
+}
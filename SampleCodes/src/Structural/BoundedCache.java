@@ -0,0 +1,466 @@
+package Structural;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// Concurrent, bounded cache. Keys are spread over independently locked segments, so there is no global
+// lock; each segment evicts on its own once its share of the maximum weight is used up.
+//  - LRU evicts the least recently used entry.
+//  - W_TINY_LFU puts new entries in a small LRU window and only admits a window victim into the main
+//    area if a frequency sketch says it is used more often than the main area's own victim. A long
+//    tail of one-off keys therefore cannot flush out the popular ones.
+// With weak values an entry also disappears once nothing outside the cache references its value.
+class BoundedCache<K, V> {
+    enum EvictionPolicy { LRU, W_TINY_LFU }
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final ToIntFunction<? super V> weigher;
+    private final boolean weakValues;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(long maximumSize, EvictionPolicy policy, boolean weakValues) {
+        this(maximumSize, policy, weakValues, value -> 1);
+    }
+
+    // The weigher gives each value a weight (e.g. its size in bytes); maximumWeight bounds their sum
+    public BoundedCache(long maximumWeight, EvictionPolicy policy, boolean weakValues, ToIntFunction<? super V> weigher) {
+        this(maximumWeight, policy, weakValues, weigher, defaultSegments(maximumWeight));
+    }
+
+    // Each segment is bounded by its share of maximumWeight, so a value heavier than that share is not
+    // retained. Caches of few, heavy values should use fewer segments.
+    public BoundedCache(long maximumWeight, EvictionPolicy policy, boolean weakValues, ToIntFunction<? super V> weigher,
+                        int segmentCount) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+        }
+        if (Integer.bitCount(segmentCount) != 1 || segmentCount > maximumWeight) {
+            throw new IllegalArgumentException("segmentCount must be a power of two no larger than maximumWeight: "
+                    + segmentCount);
+        }
+        this.weigher = weigher;
+        this.weakValues = weakValues;
+        int count = segmentCount;
+        @SuppressWarnings("unchecked")
+        Segment<K, V>[] table = (Segment<K, V>[]) new Segment<?, ?>[count];
+        this.segments = table;
+        this.segmentMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            long share = maximumWeight / count + (i < maximumWeight % count ? 1 : 0);
+            segments[i] = new Segment<>(this, share, policy);
+        }
+    }
+
+    public V get(K key) {
+        int hash = spread(key.hashCode());
+        V value = segmentFor(hash).get(key, hash);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        int hash = spread(key.hashCode());
+        segmentFor(hash).put(key, hash, value);
+    }
+
+    // Returns the cached value, or creates, caches and returns it. Creation runs under the key's segment
+    // lock, so concurrent callers never create two values for the same key.
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        int hash = spread(key.hashCode());
+        Segment<K, V> segment = segmentFor(hash);
+        // One lookup, made under the lock, so a miss is recorded once in the frequency sketch
+        synchronized (segment) {
+            V value = segment.get(key, hash);
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+            misses.increment();
+            value = loader.apply(key);
+            if (value != null) {
+                segment.put(key, hash, value);
+            }
+            return value;
+        }
+    }
+
+    public V remove(K key) {
+        int hash = spread(key.hashCode());
+        return segmentFor(hash).remove(key);
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long weightedSize() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + "]";
+    }
+
+    // Small caches get fewer segments so every segment still holds a useful number of entries
+    private static int defaultSegments(long maximumWeight) {
+        int count = 1;
+        while (count < 16 && maximumWeight / (count * 2L) >= 8) {
+            count *= 2;
+        }
+        return count;
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segments[(hash >>> 16) & segmentMask];
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final class Node<K, V> {
+        final K key;
+        final int hash;
+        Object value;
+        int weight;
+        int queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, int hash) {
+            this.key = key;
+            this.hash = hash;
+        }
+    }
+
+    private static final class WeakValue<K, V> extends WeakReference<V> {
+        final K key;
+
+        WeakValue(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    // Intrusive doubly linked list, least recently used first
+    private static final class AccessQueue<K, V> {
+        final Node<K, V> head = new Node<>(null, 0);
+        long weight;
+
+        AccessQueue() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        Node<K, V> first() {
+            return head.next == head ? null : head.next;
+        }
+
+        Node<K, V> last() {
+            return head.prev == head ? null : head.prev;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+            weight += node.weight;
+        }
+
+        void unlink(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            unlink(node);
+            addLast(node);
+        }
+
+        void clear() {
+            head.prev = head;
+            head.next = head;
+            weight = 0;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private final BoundedCache<K, V> cache;
+        private final HashMap<K, Node<K, V>> map = new HashMap<>();
+        private final EvictionPolicy policy;
+        private final long maximumWeight;
+        private final long maximumWindow;
+        private final long maximumProtected;
+        private final AccessQueue<K, V>[] queues;
+        private final FrequencySketch sketch;
+        private final ReferenceQueue<V> collected;
+
+        Segment(BoundedCache<K, V> cache, long maximumWeight, EvictionPolicy policy) {
+            this.cache = cache;
+            this.policy = policy;
+            this.maximumWeight = maximumWeight;
+            // Same proportions as Caffeine: 1% window, and 80% of the main area is protected
+            this.maximumWindow = policy == EvictionPolicy.W_TINY_LFU ? Math.max(1, maximumWeight / 100) : 0;
+            this.maximumProtected = (maximumWeight - maximumWindow) * 8 / 10;
+            @SuppressWarnings("unchecked")
+            AccessQueue<K, V>[] queues = (AccessQueue<K, V>[]) new AccessQueue<?, ?>[] {
+                    new AccessQueue<K, V>(), new AccessQueue<K, V>(), new AccessQueue<K, V>() };
+            this.queues = queues;
+            this.sketch = policy == EvictionPolicy.W_TINY_LFU ? new FrequencySketch(maximumWeight) : null;
+            this.collected = cache.weakValues ? new ReferenceQueue<>() : null;
+        }
+
+        synchronized V get(K key, int hash) {
+            if (sketch != null) {
+                sketch.increment(hash);
+            }
+            Node<K, V> node = map.get(key);
+            if (node == null) {
+                return null;
+            }
+            V value = valueOf(node);
+            if (value == null) {
+                removeNode(node);
+                return null;
+            }
+            onAccess(node);
+            return value;
+        }
+
+        synchronized void put(K key, int hash, V value) {
+            purgeCollected();
+            int weight = cache.weigher.applyAsInt(value);
+            Node<K, V> node = map.get(key);
+            if (node != null) {
+                AccessQueue<K, V> queue = queues[node.queue];
+                queue.unlink(node);
+                node.value = wrap(key, value);
+                node.weight = weight;
+                queue.addLast(node);
+                onAccess(node);
+            } else {
+                node = new Node<>(key, hash);
+                node.value = wrap(key, value);
+                node.weight = weight;
+                node.queue = policy == EvictionPolicy.W_TINY_LFU ? WINDOW : PROBATION;
+                queues[node.queue].addLast(node);
+                map.put(key, node);
+            }
+            evict();
+        }
+
+        synchronized V remove(K key) {
+            Node<K, V> node = map.get(key);
+            if (node == null) {
+                return null;
+            }
+            V value = valueOf(node);
+            removeNode(node);
+            return value;
+        }
+
+        synchronized void clear() {
+            map.clear();
+            for (AccessQueue<K, V> queue : queues) {
+                queue.clear();
+            }
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+
+        synchronized long weight() {
+            return queues[WINDOW].weight + queues[PROBATION].weight + queues[PROTECTED].weight;
+        }
+
+        private void onAccess(Node<K, V> node) {
+            if (policy == EvictionPolicy.LRU || node.queue != PROBATION) {
+                queues[node.queue].moveToLast(node);
+                return;
+            }
+            // A second hit in probation promotes the entry; the protected area's oldest entry makes room
+            queues[PROBATION].unlink(node);
+            node.queue = PROTECTED;
+            queues[PROTECTED].addLast(node);
+            while (queues[PROTECTED].weight > maximumProtected) {
+                Node<K, V> demoted = queues[PROTECTED].first();
+                queues[PROTECTED].unlink(demoted);
+                demoted.queue = PROBATION;
+                queues[PROBATION].addLast(demoted);
+            }
+        }
+
+        private void evict() {
+            if (policy == EvictionPolicy.W_TINY_LFU) {
+                // Window overflow moves to the tail of probation, where it competes with probation's head
+                while (queues[WINDOW].weight > maximumWindow) {
+                    Node<K, V> candidate = queues[WINDOW].first();
+                    queues[WINDOW].unlink(candidate);
+                    candidate.queue = PROBATION;
+                    queues[PROBATION].addLast(candidate);
+                }
+            }
+            while (weight() > maximumWeight) {
+                removeNode(selectVictim());
+                cache.evictions.increment();
+            }
+        }
+
+        private Node<K, V> selectVictim() {
+            AccessQueue<K, V> probation = queues[PROBATION];
+            Node<K, V> victim = probation.first();
+            if (victim == null) {
+                victim = queues[PROTECTED].first() != null ? queues[PROTECTED].first() : queues[WINDOW].first();
+                return victim;
+            }
+            if (sketch == null) {
+                return victim;
+            }
+            Node<K, V> candidate = probation.last();
+            if (candidate == victim) {
+                return victim;
+            }
+            // TinyLFU admission: the newcomer only stays if it has been seen more often than the victim
+            return sketch.frequency(candidate.hash) > sketch.frequency(victim.hash) ? victim : candidate;
+        }
+
+        private void removeNode(Node<K, V> node) {
+            queues[node.queue].unlink(node);
+            map.remove(node.key);
+        }
+
+        private Object wrap(K key, V value) {
+            return collected != null ? new WeakValue<>(key, value, collected) : value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V valueOf(Node<K, V> node) {
+            return collected != null ? ((WeakValue<K, V>) node.value).get() : (V) node.value;
+        }
+
+        // Drop entries whose weakly held value has been garbage collected
+        @SuppressWarnings("unchecked")
+        private void purgeCollected() {
+            if (collected == null) {
+                return;
+            }
+            WeakValue<K, V> reference;
+            while ((reference = (WeakValue<K, V>) collected.poll()) != null) {
+                Node<K, V> node = map.get(reference.key);
+                if (node != null && node.value == reference) {
+                    removeNode(node);
+                }
+            }
+        }
+    }
+
+    // Count-min sketch of 4-bit counters, four per key, periodically halved so old popularity fades
+    private static final class FrequencySketch {
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int[] SEEDS = { 0x97CB3127, 0xB8A3C2D1, 0x2E8F4F0B, 0x5BD1E995 };
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(long maximumSize) {
+            int counters = (int) Math.min(Math.max(maximumSize, 16), 1 << 16);
+            int length = Integer.highestOneBit(counters - 1) << 1;
+            // Sixteen 4-bit counters per long
+            this.table = new long[Math.max(1, length / 4)];
+            this.tableMask = table.length - 1;
+            this.sampleSize = 10 * counters;
+        }
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                frequency = Math.min(frequency, counter(hash, i));
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = offsetOf(hash, i);
+                if (((table[index] >>> offset) & 0xF) != 0xF) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions /= 2;
+            }
+        }
+
+        private int counter(int hash, int row) {
+            return (int) ((table[indexOf(hash, row)] >>> offsetOf(hash, row)) & 0xF);
+        }
+
+        private int indexOf(int hash, int row) {
+            int h = hash * SEEDS[row];
+            return (h ^ (h >>> 17)) & tableMask;
+        }
+
+        private int offsetOf(int hash, int row) {
+            int h = hash * SEEDS[row];
+            return ((h >>> 28) & 0xF) << 2;
+        }
+    }
+}
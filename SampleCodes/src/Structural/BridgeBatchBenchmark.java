@@ -0,0 +1,112 @@
+package Structural;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.function.Supplier;
+
+// Compares per-call dispatch (device.turnOn()/turnOff()) with DeviceBatch for 10k devices split between
+// two remote implementations. "console" uses RemoteControlA/B with System.out discarded; "round-trip"
+// uses a remote whose every call costs a fixed delay, as a networked remote would. Devices either each
+// have their own remote, where a batch saves one call per device and round, or share remotes in groups
+// of devicesPerRemote.
+// Usage: java Structural.BridgeBatchBenchmark [devices] [roundTripNanos] [devicesPerRemote]
+public class BridgeBatchBenchmark {
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long roundTripNanos = args.length > 1 ? Long.parseLong(args[1]) : 5_000;
+        int devicesPerRemote = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        for (int perRemote : new int[] { 1, devicesPerRemote }) {
+            run("console", count, perRemote, RemoteControlA::new, RemoteControlB::new);
+            run("round-trip", count, perRemote,
+                    () -> new RoundTripRemote(roundTripNanos), () -> new RoundTripRemote(roundTripNanos));
+        }
+    }
+
+    private static void run(String label, int count, int perRemote,
+                            Supplier<RemoteControl> first, Supplier<RemoteControl> second) {
+        Device[] devices = new Device[count];
+        RemoteControl[] remotes = new RemoteControl[2];
+        for (int i = 0; i < count; i++) {
+            // Devices alternate between the implementations; each remote serves perRemote devices
+            int implementation = i % 2;
+            if (i / 2 % perRemote == 0) {
+                remotes[implementation] = implementation == 0 ? first.get() : second.get();
+            }
+            devices[i] = implementation == 0 ? new TV(remotes[0]) : new Radio(remotes[1]);
+        }
+        DeviceBatch batch = new DeviceBatch();
+
+        double perCall = measure(() -> {
+            for (Device device : devices) {
+                device.turnOn();
+            }
+            for (Device device : devices) {
+                device.turnOff();
+            }
+        });
+        double batched = measure(() -> {
+            for (Device device : devices) {
+                batch.turnOn(device);
+            }
+            for (Device device : devices) {
+                batch.turnOff(device);
+            }
+            batch.submit();
+        });
+        System.out.printf("%-10s %d devices, %3d per remote  per-call %9.3f ms  batched %9.3f ms  (%.1fx)%n",
+                label, count, perRemote, perCall / 1e6, batched / 1e6, perCall / batched);
+    }
+
+    // Mean nanoseconds per round (every device turned on and off), with demo output discarded
+    private static double measure(Runnable round) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (int i = 0; i < ROUNDS / 2; i++) {
+                round.run();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                round.run();
+            }
+            return (double) (System.nanoTime() - start) / ROUNDS;
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    // Remote whose every call, single or batched, costs one round trip
+    static final class RoundTripRemote implements RemoteControl {
+        private final long roundTripNanos;
+
+        RoundTripRemote(long roundTripNanos) {
+            this.roundTripNanos = roundTripNanos;
+        }
+
+        @Override
+        public void turnOn() {
+            roundTrip();
+        }
+
+        @Override
+        public void turnOff() {
+            roundTrip();
+        }
+
+        @Override
+        public void submit(DeviceCommand[] commands, int count) {
+            roundTrip();
+        }
+
+        // Spins rather than sleeps, because sleeps this short overshoot by tens of microseconds
+        private void roundTrip() {
+            long end = System.nanoTime() + roundTripNanos;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package Structural;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop load test of AsyncRemoteDispatcher. Requests arrive at a fixed rate, alternating between a
+// slow remote (a few milliseconds per call, with an occasional long stall) and a fast one. For each rate
+// it reports the end-to-end latency percentiles of every remote and how many calls were rejected.
+// Usage: java Structural.BridgeLoadTest [seconds] [maxInFlight] [queueCapacity] [requestsPerSecond...]
+public class BridgeLoadTest {
+    public static void main(String[] args) {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int maxInFlight = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int queueCapacity = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int[] rates = args.length > 3
+                ? Arrays.stream(args, 3, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[] { 2_000, 6_000, 20_000 };
+
+        SlowRemote slow = new SlowRemote(2_000_000, 50_000_000);
+        FastRemote fast = new FastRemote();
+        for (int rate : rates) {
+            try (AsyncRemoteDispatcher dispatcher = new AsyncRemoteDispatcher(maxInFlight, queueCapacity)) {
+                int total = rate * seconds;
+                Recorder slowLatencies = new Recorder((total + 1) / 2);
+                Recorder fastLatencies = new Recorder(total / 2);
+                long start = System.nanoTime();
+                for (int sent = 0; sent < total; ) {
+                    // Send everything due by now, then pause; a parked generator cannot keep a finer schedule
+                    long due = Math.min(total, (System.nanoTime() - start) * rate / 1_000_000_000L);
+                    for (; sent < due; sent++) {
+                        boolean toSlow = sent % 2 == 0;
+                        Recorder recorder = toSlow ? slowLatencies : fastLatencies;
+                        long submitted = System.nanoTime();
+                        dispatcher.turnOn(toSlow ? slow : fast).whenComplete((ignored, failure) ->
+                                recorder.record(failure == null ? System.nanoTime() - submitted : -1));
+                    }
+                    LockSupport.parkNanos(100_000);
+                }
+                slowLatencies.await();
+                fastLatencies.await();
+                System.out.printf("%6d req/s  %-10s %s%n", rate, "SlowRemote", slowLatencies);
+                System.out.printf("%6d req/s  %-10s %s%n", rate, "FastRemote", fastLatencies);
+            }
+        }
+    }
+
+    // Collects latencies of the expected number of calls; a negative latency is a rejected call
+    static final class Recorder {
+        private final long[] latencies;
+        private final AtomicInteger next = new AtomicInteger();
+        private final LongAdder rejected = new LongAdder();
+        // Counted after each latency is stored, so the last call to finish sees every latency
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Recorder(int expected) {
+            this.latencies = new long[expected];
+            if (expected == 0) {
+                done.complete(null);
+            }
+        }
+
+        void record(long latencyNanos) {
+            if (latencyNanos < 0) {
+                rejected.increment();
+            } else {
+                latencies[next.getAndIncrement()] = latencyNanos;
+            }
+            if (recorded.incrementAndGet() == latencies.length) {
+                done.complete(null);
+            }
+        }
+
+        void await() {
+            done.join();
+        }
+
+        @Override
+        public String toString() {
+            long[] sorted = Arrays.copyOf(latencies, next.get());
+            Arrays.sort(sorted);
+            return String.format("completed %6d  rejected %6d  p50 %8.3f ms  p99 %8.3f ms  p999 %8.3f ms  max %8.3f ms",
+                    sorted.length, rejected.sum(), percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+        }
+    }
+
+    // Stand-in for a slow device link: most calls take around baseNanos, one in a hundred stalls
+    static final class SlowRemote implements RemoteControl {
+        private final long baseNanos;
+        private final long stallNanos;
+
+        SlowRemote(long baseNanos, long stallNanos) {
+            this.baseNanos = baseNanos;
+            this.stallNanos = stallNanos;
+        }
+
+        @Override
+        public void turnOn() {
+            delay();
+        }
+
+        @Override
+        public void turnOff() {
+            delay();
+        }
+
+        private void delay() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            LockSupport.parkNanos(random.nextInt(100) == 0 ? stallNanos : baseNanos / 2 + random.nextLong(baseNanos));
+        }
+    }
+
+    static final class FastRemote implements RemoteControl {
+        @Override
+        public void turnOn() {
+        }
+
+        @Override
+        public void turnOff() {
+        }
+    }
+}
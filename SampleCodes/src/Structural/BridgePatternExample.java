@@ -1,11 +1,18 @@
 package Structural;
 
+import java.util.concurrent.CompletableFuture;
+
 // Abstraction (Device)
 interface Device {
     void turnOn();
     void turnOff();
+    RemoteControl getRemote();
+    // Device side of a command whose remote call has already been sent, used by DeviceBatch
+    void completed(DeviceCommand command);
 }
 
+enum DeviceCommand { TURN_ON, TURN_OFF }
+
 // Concrete Implementation 1 (TV)
 class TV implements Device {
     private RemoteControl remote;
@@ -17,13 +24,23 @@ class TV implements Device {
     @Override
     public void turnOn() {
         remote.turnOn();
-        System.out.println("TV is turned on");
+        completed(DeviceCommand.TURN_ON);
     }
 
     @Override
     public void turnOff() {
         remote.turnOff();
-        System.out.println("TV is turned off");
+        completed(DeviceCommand.TURN_OFF);
+    }
+
+    @Override
+    public RemoteControl getRemote() {
+        return remote;
+    }
+
+    @Override
+    public void completed(DeviceCommand command) {
+        System.out.println(command == DeviceCommand.TURN_ON ? "TV is turned on" : "TV is turned off");
     }
 }
 
@@ -38,13 +55,23 @@ class Radio implements Device {
     @Override
     public void turnOn() {
         remote.turnOn();
-        System.out.println("Radio is turned on");
+        completed(DeviceCommand.TURN_ON);
     }
 
     @Override
     public void turnOff() {
         remote.turnOff();
-        System.out.println("Radio is turned off");
+        completed(DeviceCommand.TURN_OFF);
+    }
+
+    @Override
+    public RemoteControl getRemote() {
+        return remote;
+    }
+
+    @Override
+    public void completed(DeviceCommand command) {
+        System.out.println(command == DeviceCommand.TURN_ON ? "Radio is turned on" : "Radio is turned off");
     }
 }
 
@@ -52,6 +79,27 @@ class Radio implements Device {
 interface RemoteControl {
     void turnOn();
     void turnOff();
+
+    // Sends commands[0..count) as one batch; the default falls back to one call per command
+    default void submit(DeviceCommand[] commands, int count) {
+        for (int i = 0; i < count; i++) {
+            if (commands[i] == DeviceCommand.TURN_ON) {
+                turnOn();
+            } else {
+                turnOff();
+            }
+        }
+    }
+
+    static int countTurnOn(DeviceCommand[] commands, int count) {
+        int on = 0;
+        for (int i = 0; i < count; i++) {
+            if (commands[i] == DeviceCommand.TURN_ON) {
+                on++;
+            }
+        }
+        return on;
+    }
 }
 
 // Concrete Implementation 1 (RemoteControlA)
@@ -65,6 +113,12 @@ class RemoteControlA implements RemoteControl {
     public void turnOff() {
         System.out.println("Turning off with RemoteControlA");
     }
+
+    @Override
+    public void submit(DeviceCommand[] commands, int count) {
+        int on = RemoteControl.countTurnOn(commands, count);
+        System.out.println("Turning on " + on + " and off " + (count - on) + " with RemoteControlA");
+    }
 }
 
 // Concrete Implementation 2 (RemoteControlB)
@@ -78,6 +132,12 @@ class RemoteControlB implements RemoteControl {
     public void turnOff() {
         System.out.println("Turning off with RemoteControlB");
     }
+
+    @Override
+    public void submit(DeviceCommand[] commands, int count) {
+        int on = RemoteControl.countTurnOn(commands, count);
+        System.out.println("Turning on " + on + " and off " + (count - on) + " with RemoteControlB");
+    }
 }
 
 // Client code
@@ -94,5 +154,23 @@ public class BridgePatternExample {
 
         radio.turnOn();
         radio.turnOff();
+
+        DeviceBatch batch = new DeviceBatch();
+        for (int i = 0; i < 3; i++) {
+            // Devices sharing a remote are sent to it in one call
+            batch.turnOn(new TV(remoteControlA)).turnOn(new Radio(remoteControlB));
+        }
+        batch.turnOff(tv).turnOff(radio);
+        batch.submit();
+
+        try (AsyncRemoteDispatcher dispatcher = new AsyncRemoteDispatcher(4, 16)) {
+            AsyncDevice asyncTv = new AsyncDevice(tv, dispatcher);
+            AsyncDevice asyncRadio = new AsyncDevice(radio, dispatcher);
+            CompletableFuture.allOf(asyncTv.turnOn(), asyncRadio.turnOn()).join();
+            asyncTv.turnOff().thenCompose(ignored -> asyncRadio.turnOff()).join();
+
+            DeviceCommand[] commands = { DeviceCommand.TURN_ON, DeviceCommand.TURN_OFF };
+            dispatcher.submitAll(remoteControlA, commands, commands.length).join();
+        }
     }
 }
\ No newline at end of file
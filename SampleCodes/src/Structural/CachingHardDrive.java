@@ -0,0 +1,302 @@
+package Structural;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Caching decorator for a HardDrive. The drive is read in fixed-size blocks that are kept in one
+// off-heap arena and evicted in LRU order. When consecutive blocks are read, the next blocks are read
+// ahead on virtual threads, so a sequential scan finds them already cached.
+// The backing drive is treated as read-only; writes to its image are not seen once a block is cached.
+class CachingHardDrive extends HardDrive {
+    static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    // Consecutive block reads needed before read-ahead starts
+    private static final int SEQUENTIAL_THRESHOLD = 2;
+
+    private final HardDrive backing;
+    private final long backingCapacity;
+    private final int blockSize;
+    private final int readAheadBlocks;
+    private final ByteBuffer[] slots;
+    private final ExecutorService readAheadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Guarded by lock: cached blocks in access order, unused slots and the sequential-access detector
+    private final Object lock = new Object();
+    private final LinkedHashMap<Long, Block> blocks = new LinkedHashMap<>(16, 0.75f, true);
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private long lastBlock = -1;
+    private int sequentialRun;
+    // Blocks being read from the backing drive; readers of the same block wait instead of reading it again
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder readAheadIssued = new LongAdder();
+    private final LongAdder readAheadUsed = new LongAdder();
+    private final LongAdder readAheadLate = new LongAdder();
+    private final LongAdder readAheadWasted = new LongAdder();
+
+    public CachingHardDrive(HardDrive backing) {
+        this(backing, DEFAULT_BLOCK_SIZE, 256, 8);
+    }
+
+    public CachingHardDrive(HardDrive backing, int blockSize, int capacityBlocks, int readAheadBlocks) {
+        if (blockSize <= 0 || blockSize % SECTOR_SIZE != 0) {
+            throw new IllegalArgumentException("Block size must be a positive multiple of " + SECTOR_SIZE + ": " + blockSize);
+        }
+        if (capacityBlocks <= 0 || (long) blockSize * capacityBlocks > Integer.MAX_VALUE || readAheadBlocks < 0) {
+            throw new IllegalArgumentException("Invalid cache size: " + capacityBlocks + " blocks, read-ahead " + readAheadBlocks);
+        }
+        this.backing = backing;
+        this.backingCapacity = backing.capacity();
+        this.blockSize = blockSize;
+        // Reading further ahead than half the cache would evict the blocks still being scanned
+        this.readAheadBlocks = Math.min(readAheadBlocks, capacityBlocks / 2);
+        ByteBuffer arena = ByteBuffer.allocateDirect(blockSize * capacityBlocks);
+        this.slots = new ByteBuffer[capacityBlocks];
+        for (int i = 0; i < capacityBlocks; i++) {
+            slots[i] = arena.slice(i * blockSize, blockSize);
+            freeSlots.add(i);
+        }
+    }
+
+    @Override
+    protected int readAt(long offset, ByteBuffer dst) {
+        int total = 0;
+        while (dst.hasRemaining()) {
+            long position = offset + total;
+            long blockNumber = position / blockSize;
+            int within = (int) (position % blockSize);
+            int wanted = Math.min(dst.remaining(), blockSize - within);
+            int copied = copyFromBlock(blockNumber, within, dst);
+            total += copied;
+            onAccess(blockNumber);
+            if (copied < wanted) {
+                break; // end of the drive image
+            }
+        }
+        return total;
+    }
+
+    // Copies as much of dst's remaining length as the block holds from within onwards
+    private int copyFromBlock(long blockNumber, int within, ByteBuffer dst) {
+        boolean missed = false;
+        while (true) {
+            Block block;
+            synchronized (lock) {
+                block = blocks.get(blockNumber);
+                if (block != null) {
+                    if (missed) {
+                        misses.increment();
+                    } else {
+                        hits.increment();
+                    }
+                    if (block.readAhead) {
+                        block.readAhead = false;
+                        readAheadUsed.increment();
+                    }
+                    // Pinned blocks are never evicted, so the slot can be copied without holding the lock
+                    block.readers++;
+                }
+            }
+            if (block != null) {
+                try {
+                    int length = Math.max(0, Math.min(dst.remaining(), block.length - within));
+                    dst.put(dst.position(), slots[block.slot], within, length);
+                    dst.position(dst.position() + length);
+                    return length;
+                } finally {
+                    synchronized (lock) {
+                        block.readers--;
+                    }
+                }
+            }
+            CompletableFuture<Void> pending = loading.get(blockNumber);
+            CompletableFuture<Void> claim;
+            if (pending != null) {
+                if (!missed) {
+                    readAheadLate.increment();
+                }
+                pending.join();
+            } else if ((claim = claim(blockNumber)) != null && !load(blockNumber, claim, false)) {
+                // Every slot is in use by a load or a reader, so read around the cache
+                misses.increment();
+                int length = Math.min(dst.remaining(), blockSize - within);
+                int read = backing.readAt(blockNumber * blockSize + within, dst.slice(dst.position(), length));
+                dst.position(dst.position() + read);
+                return read;
+            }
+            // The loaded block is looked up again; a read that had to load it counts as a miss
+            missed = missed || pending == null;
+        }
+    }
+
+    // Marks the block as being loaded; null when another thread already claimed it
+    private CompletableFuture<Void> claim(long blockNumber) {
+        CompletableFuture<Void> claim = new CompletableFuture<>();
+        return loading.putIfAbsent(blockNumber, claim) == null ? claim : null;
+    }
+
+    // Reads a claimed block from the backing drive into a free or evicted slot and releases the claim.
+    // Returns false when no slot is available.
+    private boolean load(long blockNumber, CompletableFuture<Void> claim, boolean readAhead) {
+        try {
+            int slot;
+            synchronized (lock) {
+                if (blocks.containsKey(blockNumber)) {
+                    return true;
+                }
+                slot = reserveSlot();
+            }
+            if (slot < 0) {
+                return false;
+            }
+            int length;
+            try {
+                length = backing.readAt(blockNumber * blockSize, slots[slot].duplicate().clear());
+            } catch (RuntimeException | Error e) {
+                synchronized (lock) {
+                    freeSlots.add(slot);
+                }
+                throw e;
+            }
+            synchronized (lock) {
+                blocks.put(blockNumber, new Block(slot, length, readAhead));
+            }
+            return true;
+        } finally {
+            loading.remove(blockNumber, claim);
+            claim.complete(null);
+        }
+    }
+
+    // Caller holds lock; evicts the least recently used block that is not being copied. Returns -1 when
+    // every slot is in use by a load or a reader.
+    private int reserveSlot() {
+        Integer free = freeSlots.poll();
+        if (free != null) {
+            return free;
+        }
+        for (Iterator<Block> eldest = blocks.values().iterator(); eldest.hasNext(); ) {
+            Block victim = eldest.next();
+            if (victim.readers == 0) {
+                eldest.remove();
+                evictions.increment();
+                if (victim.readAhead) {
+                    readAheadWasted.increment();
+                }
+                return victim.slot;
+            }
+        }
+        return -1;
+    }
+
+    // Tracks runs of consecutive blocks and, once a run is long enough, reads the following blocks ahead
+    private void onAccess(long blockNumber) {
+        synchronized (lock) {
+            if (blockNumber == lastBlock) {
+                return;
+            }
+            sequentialRun = blockNumber == lastBlock + 1 ? sequentialRun + 1 : 0;
+            lastBlock = blockNumber;
+            if (sequentialRun < SEQUENTIAL_THRESHOLD) {
+                return;
+            }
+        }
+        for (long next = blockNumber + 1; next <= blockNumber + readAheadBlocks; next++) {
+            if (next * blockSize >= backingCapacity) {
+                break;
+            }
+            boolean cached;
+            synchronized (lock) {
+                cached = blocks.containsKey(next);
+            }
+            CompletableFuture<Void> claim;
+            if (!cached && (claim = claim(next)) != null) {
+                long block = next;
+                try {
+                    readAheadExecutor.execute(() -> load(block, claim, true));
+                } catch (RejectedExecutionException e) {
+                    // Closed: release the claim, or readers of this block would wait for it forever
+                    loading.remove(block, claim);
+                    claim.complete(null);
+                    return;
+                }
+                readAheadIssued.increment();
+            }
+        }
+    }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    // Blocks requested ahead of the reader
+    public long getReadAheadIssuedCount() { return readAheadIssued.sum(); }
+    // Read-ahead blocks that were later read
+    public long getReadAheadUsedCount() { return readAheadUsed.sum(); }
+    // Reads that waited for a block already being loaded, usually by read-ahead that had not finished
+    public long getReadAheadLateCount() { return readAheadLate.sum(); }
+    // Read-ahead blocks evicted without being read
+    public long getReadAheadWastedCount() { return readAheadWasted.sum(); }
+
+    public double getReadAheadAccuracy() {
+        long issued = readAheadIssued.sum();
+        return issued == 0 ? 0 : (double) readAheadUsed.sum() / issued;
+    }
+
+    public int getCachedBlockCount() {
+        synchronized (lock) {
+            return blocks.size();
+        }
+    }
+
+    @Override
+    public long capacity() {
+        return backingCapacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        readAheadExecutor.close();
+        backing.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hit ratio %.3f (%d hits, %d misses, %d evictions), read-ahead %d issued, %d used, %d late, %d wasted",
+                getHitRatio(), getHitCount(), getMissCount(), getEvictionCount(), getReadAheadIssuedCount(),
+                getReadAheadUsedCount(), getReadAheadLateCount(), getReadAheadWastedCount());
+    }
+
+    private static final class Block {
+        final int slot;
+        // Bytes of the block inside the image; less than the block size only for the last block
+        final int length;
+        // True until a read-ahead block is first read
+        boolean readAhead;
+        // Reads copying out of the slot; the block is not evicted while there are any
+        int readers;
+
+        Block(int slot, int length, boolean readAhead) {
+            this.slot = slot;
+            this.length = length;
+            this.readAhead = readAhead;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package Structural;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+// Scans a drive image whose every backing read costs a fixed latency, first sequentially and then at
+// random, with no cache, with the block cache alone and with the block cache plus read-ahead.
+// Usage: java Structural.CachingHardDriveBenchmark [imageMegabytes] [latencyMicros] [readSize]
+public class CachingHardDriveBenchmark {
+    private static volatile long sink;
+
+    public static void main(String[] args) throws IOException {
+        int imageBytes = (args.length > 0 ? Integer.parseInt(args[0]) : 32) << 20;
+        long latencyNanos = (args.length > 1 ? Long.parseLong(args[1]) : 200) * 1000;
+        int readSize = args.length > 2 ? Integer.parseInt(args[2]) : 4096;
+
+        Path image = BenchmarkFiles.createPatternFile("caching-drive-benchmark", imageBytes);
+        try {
+            for (String workload : new String[] { "sequential", "random" }) {
+                for (String mode : new String[] { "uncached", "cache", "cache+read-ahead" }) {
+                    HardDrive drive = new SlowHardDrive(image, latencyNanos);
+                    if (!mode.equals("uncached")) {
+                        // The cache holds a quarter of the image, so random reads also evict
+                        int capacityBlocks = Math.max(1, imageBytes / CachingHardDrive.DEFAULT_BLOCK_SIZE / 4);
+                        drive = new CachingHardDrive(drive, CachingHardDrive.DEFAULT_BLOCK_SIZE, capacityBlocks,
+                                mode.equals("cache") ? 0 : 16);
+                    }
+                    try (HardDrive measured = drive) {
+                        long start = System.nanoTime();
+                        long bytes = workload.equals("sequential")
+                                ? scanSequential(measured, imageBytes, readSize)
+                                : readRandom(measured, imageBytes, readSize);
+                        long elapsed = System.nanoTime() - start;
+                        System.out.printf("%-10s %-16s %9.1f ms %8.1f MB/s  %s%n", workload, mode, elapsed / 1e6,
+                                bytes * 1e3 / elapsed, measured instanceof CachingHardDrive cache ? cache : "");
+                    }
+                }
+            }
+        } finally {
+            Files.delete(image);
+        }
+    }
+
+    private static long scanSequential(HardDrive drive, int imageBytes, int readSize) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(readSize);
+        long checksum = 0;
+        long total = 0;
+        for (long lba = 0; total < imageBytes; lba += readSize / HardDrive.SECTOR_SIZE) {
+            int read = drive.read(lba, buffer.clear());
+            checksum += buffer.get(0);
+            total += read;
+        }
+        sink = checksum;
+        return total;
+    }
+
+    // Reads as many bytes as one scan, at random sector-aligned positions
+    private static long readRandom(HardDrive drive, int imageBytes, int readSize) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(readSize);
+        SplittableRandom random = new SplittableRandom(42);
+        long sectors = (imageBytes - readSize) / HardDrive.SECTOR_SIZE;
+        long checksum = 0;
+        long total = 0;
+        for (int i = 0; i < imageBytes / readSize; i++) {
+            total += drive.read(random.nextLong(sectors), buffer.clear());
+            checksum += buffer.get(0);
+        }
+        sink = checksum;
+        return total;
+    }
+
+    // Stand-in for a slow device: every read from the image first waits for a fixed latency
+    static final class SlowHardDrive extends HardDrive {
+        private final long latencyNanos;
+
+        SlowHardDrive(Path image, long latencyNanos) throws IOException {
+            super(image);
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        protected int readAt(long offset, ByteBuffer dst) {
+            LockSupport.parkNanos(latencyNanos);
+            return super.readAt(offset, dst);
+        }
+    }
+}
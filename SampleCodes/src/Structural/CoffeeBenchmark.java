@@ -0,0 +1,54 @@
+package Structural;
+
+// Compares reading cost and description from a decorator chain with reading them from its FlatCoffee,
+// for chain depths 1 to 64.
+// Usage: java Structural.CoffeeBenchmark [readsPerRound]
+public class CoffeeBenchmark {
+    private static final int ROUNDS = 10;
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int reads = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        for (int depth = 1; depth <= 64; depth *= 2) {
+            Coffee chain = new SimpleCoffee();
+            for (int i = 0; i < depth; i++) {
+                chain = i % 2 == 0 ? new MilkDecorator(chain) : new SugarDecorator(chain);
+            }
+            Coffee decorated = chain;
+            FlatCoffee flat = FlatCoffee.of(decorated);
+
+            double chainNanos = measure(reads, () -> read(decorated, reads));
+            double flatNanos = measure(reads, () -> read(flat, reads));
+            double compileNanos = measure(reads, () -> {
+                for (int i = 0; i < reads; i++) {
+                    sink = FlatCoffee.of(decorated);
+                }
+            });
+            System.out.printf("depth=%-3d chain %9.1f ns/read  flat %6.1f ns/read  compile %9.1f ns%n",
+                    depth, chainNanos, flatNanos, compileNanos);
+        }
+    }
+
+    private static void read(Coffee coffee, int reads) {
+        double total = 0;
+        int length = 0;
+        for (int i = 0; i < reads; i++) {
+            total += coffee.getCost();
+            length += coffee.getDescription().length();
+        }
+        sink = total + length;
+    }
+
+    private static double measure(int operations, Runnable round) {
+        for (int i = 0; i < ROUNDS / 2; i++) {
+            round.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            round.run();
+        }
+        return (double) (System.nanoTime() - start) / ((long) ROUNDS * operations);
+    }
+}
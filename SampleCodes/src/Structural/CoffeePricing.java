@@ -0,0 +1,25 @@
+package Structural;
+
+// Exact pricing in long cents, free of floating-point drift and of BigDecimal allocation
+final class CoffeePricing {
+    private CoffeePricing() { }
+
+    // Total of a batch of orders in cents; throws ArithmeticException if the total overflows a long
+    public static long priceAll(Coffee[] orders) {
+        return priceAll(orders, 0, orders.length);
+    }
+
+    public static long priceAll(Coffee[] orders, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total = Math.addExact(total, orders[i].getCostCents());
+        }
+        return total;
+    }
+
+    // Renders cents as dollars, e.g. 320 -> "3.20"
+    public static String format(long cents) {
+        long abs = Math.abs(cents);
+        return (cents < 0 ? "-" : "") + abs / 100 + "." + (abs % 100 < 10 ? "0" : "") + abs % 100;
+    }
+}
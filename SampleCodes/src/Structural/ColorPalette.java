@@ -0,0 +1,79 @@
+package Structural;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+// Fixed-capacity palette that gives each color name a small int id and keeps that color's flyweight in
+// a flat array slot. Callers register a name once with idOf() and afterwards fetch the flyweight by index,
+// with no String hashing or equals on the hot path. Ids are never reused; once the palette is full,
+// idOf() returns -1 and the caller falls back to a keyed cache. find() never registers a color.
+class ColorPalette {
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final String[] names;
+    private final AtomicReferenceArray<Shape> shapes;
+    private final Function<String, Shape> factory;
+    private int size;
+
+    public ColorPalette(int capacity, Function<String, Shape> factory) {
+        this.names = new String[capacity];
+        this.shapes = new AtomicReferenceArray<>(capacity);
+        this.factory = factory;
+    }
+
+    public int idOf(String color) {
+        Integer id = ids.get(color);
+        return id != null ? id : register(color);
+    }
+
+    // Id of an already registered color, or -1
+    public int find(String color) {
+        Integer id = ids.get(color);
+        return id != null ? id : -1;
+    }
+
+    private synchronized int register(String color) {
+        Integer id = ids.get(color);
+        if (id != null) {
+            return id;
+        }
+        if (size == names.length) {
+            return -1;
+        }
+        names[size] = color;
+        // The map publishes the name: a thread that finds the id also sees names[id]
+        ids.put(color, size);
+        return size++;
+    }
+
+    public Shape get(int id) {
+        if (id < 0 || id >= shapes.length()) {
+            throw new IllegalArgumentException("Unknown color id " + id + (id == -1 ? " (palette was full)" : ""));
+        }
+        Shape shape = shapes.get(id);
+        return shape != null ? shape : create(id);
+    }
+
+    private synchronized Shape create(int id) {
+        Shape shape = shapes.get(id);
+        if (shape == null) {
+            if (id >= size) {
+                throw new IllegalArgumentException("Unknown color id " + id);
+            }
+            shape = factory.apply(names[id]);
+            shapes.set(id, shape);
+        }
+        return shape;
+    }
+
+    public String nameOf(int id) {
+        if (id < 0 || id >= names.length || names[id] == null) {
+            throw new IllegalArgumentException("Unknown color id " + id);
+        }
+        return names[id];
+    }
+
+    public int capacity() {
+        return names.length;
+    }
+}
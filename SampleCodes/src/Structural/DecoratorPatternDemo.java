@@ -4,6 +4,11 @@ package Structural;
 interface Coffee {
     String getDescription();
     double getCost();
+
+    // Exact price in cents; implementations should override the rounding fallback
+    default long getCostCents() {
+        return Math.round(getCost() * 100);
+    }
 }
 
 // SimpleCoffee class that implements Coffee
@@ -17,6 +22,11 @@ class SimpleCoffee implements Coffee {
     public double getCost() {
         return 2.0;
     }
+
+    @Override
+    public long getCostCents() {
+        return 200;
+    }
 }
 
 // Abstract decorator class that implements Coffee
@@ -36,6 +46,26 @@ abstract class CoffeeDecorator implements Coffee {
     public double getCost() {
         return decoratedCoffee.getCost();
     }
+
+    @Override
+    public long getCostCents() {
+        return decoratedCoffee.getCostCents() + getAddOnCostCents();
+    }
+
+    // The add-on this decorator contributes, used by FlatCoffee; null if it does not describe one
+    public String getAddOnName() {
+        return null;
+    }
+
+    // Defaults derive the add-on price from getCost(), so a decorator that only overrides getCost() is
+    // still priced correctly; decorators with an exact price override getAddOnCostCents()
+    public double getAddOnCost() {
+        return getCost() - decoratedCoffee.getCost();
+    }
+
+    public long getAddOnCostCents() {
+        return Math.round(getAddOnCost() * 100);
+    }
 }
 
 // MilkDecorator class that extends CoffeeDecorator
@@ -53,6 +83,21 @@ class MilkDecorator extends CoffeeDecorator {
     public double getCost() {
         return decoratedCoffee.getCost() + 0.5;
     }
+
+    @Override
+    public String getAddOnName() {
+        return "Milk";
+    }
+
+    @Override
+    public double getAddOnCost() {
+        return 0.5;
+    }
+
+    @Override
+    public long getAddOnCostCents() {
+        return 50;
+    }
 }
 
 // SugarDecorator class that extends CoffeeDecorator
@@ -70,6 +115,21 @@ class SugarDecorator extends CoffeeDecorator {
     public double getCost() {
         return decoratedCoffee.getCost() + 0.2;
     }
+
+    @Override
+    public String getAddOnName() {
+        return "Sugar";
+    }
+
+    @Override
+    public double getAddOnCost() {
+        return 0.2;
+    }
+
+    @Override
+    public long getAddOnCostCents() {
+        return 20;
+    }
 }
 
 // Main class to test the decorator pattern
@@ -86,5 +146,11 @@ public class DecoratorPatternDemo {
 
         coffee = new MilkDecorator(coffee);
         System.out.println(coffee.getDescription() + " Cost: $" + coffee.getCost());
+
+        Coffee flat = FlatCoffee.of(coffee);
+        System.out.println(flat.getDescription() + " Cost: $" + flat.getCost());
+
+        Coffee[] order = { new SimpleCoffee(), new MilkDecorator(new SimpleCoffee()), flat };
+        System.out.println("Order total: $" + CoffeePricing.format(CoffeePricing.priceAll(order)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package Structural;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+// Collects commands for many devices and sends them grouped by remote control: each remote instance
+// receives all of its commands in one RemoteControl.submit call, then every device completes its
+// commands. Remotes are sent to in the order they first appeared, and commands for the same remote keep
+// their submission order. A batch is not thread-safe and can be reused after submit.
+class DeviceBatch {
+    // Keyed by identity, so remotes that compare equal still each get their own commands
+    private final IdentityHashMap<RemoteControl, Group> groups = new IdentityHashMap<>();
+    private final List<Group> order = new ArrayList<>();
+    private int size;
+
+    public DeviceBatch turnOn(Device device) {
+        return add(device, DeviceCommand.TURN_ON);
+    }
+
+    public DeviceBatch turnOff(Device device) {
+        return add(device, DeviceCommand.TURN_OFF);
+    }
+
+    public DeviceBatch add(Device device, DeviceCommand command) {
+        Group group = groups.get(device.getRemote());
+        if (group == null) {
+            group = new Group(device.getRemote());
+            groups.put(group.remote, group);
+            order.add(group);
+        }
+        group.add(device, command);
+        size++;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Sends one call per remote and returns the number of commands sent. The groups are dropped, so the
+    // batch holds no remotes or devices between submits.
+    public int submit() {
+        int sent = size;
+        for (Group group : order) {
+            group.remote.submit(group.commands, group.size);
+            for (int i = 0; i < group.size; i++) {
+                group.devices[i].completed(group.commands[i]);
+            }
+        }
+        clear();
+        return sent;
+    }
+
+    private void clear() {
+        groups.clear();
+        order.clear();
+        size = 0;
+    }
+
+    private static final class Group {
+        final RemoteControl remote;
+        Device[] devices = new Device[4];
+        DeviceCommand[] commands = new DeviceCommand[4];
+        int size;
+
+        Group(RemoteControl remote) {
+            this.remote = remote;
+        }
+
+        void add(Device device, DeviceCommand command) {
+            if (size == devices.length) {
+                devices = Arrays.copyOf(devices, size * 2);
+                commands = Arrays.copyOf(commands, size * 2);
+            }
+            devices[size] = device;
+            commands[size++] = command;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package Structural;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+// Bounded pool of equally sized direct buffers. Direct buffers are expensive to allocate and are only
+// freed by the garbage collector, so transfers borrow one instead of allocating their own. When the pool
+// is empty a new buffer is allocated; when it is full a returned buffer is simply dropped.
+class DirectBufferPool {
+    private final int bufferSize;
+    private final ArrayBlockingQueue<ByteBuffer> idle;
+
+    public DirectBufferPool(int bufferSize, int maxIdle) {
+        if (bufferSize <= 0 || maxIdle <= 0) {
+            throw new IllegalArgumentException("Invalid pool size: " + bufferSize + " x " + maxIdle);
+        }
+        this.bufferSize = bufferSize;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    // Returns a cleared buffer of bufferSize bytes
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = idle.poll();
+        return buffer != null ? buffer.clear() : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (buffer.isDirect() && buffer.capacity() == bufferSize) {
+            idle.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+}
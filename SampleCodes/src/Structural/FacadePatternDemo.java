@@ -1,5 +1,18 @@
 package Structural;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 // Subsystem classes
 class CPU {
     public void freeze() {
@@ -16,15 +29,171 @@ class CPU {
 }
 
 class Memory {
+    // Off-heap backing store; null for a memory that only announces loads
+    private final ByteBuffer storage;
+
+    public Memory() {
+        this.storage = null;
+    }
+
+    public Memory(int capacity) {
+        this.storage = ByteBuffer.allocateDirect(capacity);
+    }
+
     public void load(long position, byte[] data) {
         System.out.println("Memory loading data at position " + position);
+        if (storage != null) {
+            region(position, data.length).put(data);
+        }
+    }
+
+    // Bulk overload: copies the remaining bytes of data to position and consumes them
+    public void load(long position, ByteBuffer data) {
+        if (storage != null) {
+            region(position, data.remaining()).put(data);
+        } else {
+            data.position(data.limit());
+        }
+    }
+
+    public boolean isBacked() {
+        return storage != null;
+    }
+
+    public int capacity() {
+        return storage == null ? 0 : storage.capacity();
+    }
+
+    // Writable view of [position, position + length) of the backing store, so a drive can read straight into it
+    public ByteBuffer region(long position, int length) {
+        if (storage == null) {
+            throw new IllegalStateException("Memory has no backing store");
+        }
+        if (position < 0 || length < 0 || position > storage.capacity() - length) {
+            throw new IndexOutOfBoundsException("Region " + position + "+" + length + " outside " + storage.capacity() + " bytes");
+        }
+        return storage.slice((int) position, length);
     }
 }
 
-class HardDrive {
+class HardDrive implements AutoCloseable {
+    static final int SECTOR_SIZE = 512;
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] ZEROS = new byte[TRANSFER_BUFFER_SIZE];
+
+    // Drive image; null for a blank drive that reads as zeros
+    private final FileChannel image;
+    private final DirectBufferPool buffers = new DirectBufferPool(TRANSFER_BUFFER_SIZE, 8);
+
+    public HardDrive() {
+        this.image = null;
+    }
+
+    public HardDrive(Path image) throws IOException {
+        this.image = FileChannel.open(image, StandardOpenOption.READ);
+    }
+
     public byte[] read(long lba, int size) {
         System.out.println("HardDrive reading " + size + " bytes from LBA " + lba);
-        return new byte[size];
+        byte[] data = new byte[size];
+        read(lba, ByteBuffer.wrap(data));
+        return data;
+    }
+
+    // Fills the remaining bytes of dst starting at lba. Returns the number of bytes read, which is less than
+    // requested only at the end of the image.
+    public int read(long lba, ByteBuffer dst) {
+        return readAt(lba * SECTOR_SIZE, dst);
+    }
+
+    // Moves length bytes starting at lba into memory at position. A backed memory is filled directly by
+    // the channel with no intermediate copy; otherwise the data streams through pooled direct buffers.
+    public int transferTo(long lba, int length, Memory memory, long position) {
+        long offset = lba * SECTOR_SIZE;
+        if (memory.isBacked()) {
+            return readAt(offset, memory.region(position, length));
+        }
+        ByteBuffer buffer = buffers.acquire();
+        try {
+            int total = 0;
+            while (total < length) {
+                int chunk = Math.min(buffer.capacity(), length - total);
+                buffer.clear().limit(chunk);
+                int read = readAt(offset + total, buffer);
+                memory.load(position + total, buffer.flip());
+                total += read;
+                if (read < chunk) {
+                    break;
+                }
+            }
+            return total;
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    // Every read goes through here, so subclasses such as CachingHardDrive only override this. Direct
+    // buffers are filled by the channel itself. Heap buffers go through a pooled direct buffer, because the
+    // channel would otherwise allocate a temporary direct buffer as large as dst on every call.
+    protected int readAt(long offset, ByteBuffer dst) {
+        int length = dst.remaining();
+        if (image == null) {
+            while (dst.hasRemaining()) {
+                dst.put(ZEROS, 0, Math.min(ZEROS.length, dst.remaining()));
+            }
+            return length;
+        }
+        try {
+            if (dst.isDirect()) {
+                return readFully(offset, dst);
+            }
+            ByteBuffer buffer = buffers.acquire();
+            try {
+                int total = 0;
+                while (total < length) {
+                    int chunk = Math.min(buffer.capacity(), length - total);
+                    buffer.clear().limit(chunk);
+                    int read = readFully(offset + total, buffer);
+                    dst.put(buffer.flip());
+                    total += read;
+                    if (read < chunk) {
+                        break;
+                    }
+                }
+                return total;
+            } finally {
+                buffers.release(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long capacity() {
+        try {
+            return image == null ? Long.MAX_VALUE : image.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (image != null) {
+            image.close();
+        }
+    }
+
+    private int readFully(long offset, ByteBuffer dst) throws IOException {
+        int total = 0;
+        while (dst.hasRemaining()) {
+            int read = image.read(dst, offset + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
     }
 }
 
@@ -46,12 +215,74 @@ class ComputerFacade {
         cpu.jump(0);
         cpu.execute();
     }
+
+    public BootTimings startPipelined(Executor executor) {
+        return startPipelined(executor, 1024, HardDrive.SECTOR_SIZE);
+    }
+
+    // Runs the boot as a dependency graph: the disk read does not wait for the CPU freeze, and the boot
+    // image is read in chunks that are loaded into memory as soon as each arrives.
+    //   freeze ---------------------+--> load[0..n) --> jump --> execute
+    //   read[0] -> read[1] -> ... --+
+    public BootTimings startPipelined(Executor executor, int imageSize, int chunkSize) {
+        // Chunks are whole sectors so every chunk starts at its own LBA
+        if (imageSize < 0 || chunkSize <= 0 || chunkSize % HardDrive.SECTOR_SIZE != 0) {
+            throw new IllegalArgumentException("Invalid image or chunk size: " + imageSize + ", " + chunkSize);
+        }
+        BootTimings timings = new BootTimings();
+        CompletableFuture<Void> frozen = CompletableFuture.runAsync(timings.timed("freeze", cpu::freeze), executor);
+
+        int chunks = (imageSize + chunkSize - 1) / chunkSize;
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[chunks];
+        // Reads stay sequential so the drive sees one ascending stream
+        CompletableFuture<Void> previousRead = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < chunks; i++) {
+            long offset = (long) i * chunkSize;
+            int length = (int) Math.min(chunkSize, imageSize - offset);
+            CompletableFuture<byte[]> read = previousRead.thenApplyAsync(
+                    ignored -> timings.timed("read", () -> hardDrive.read(offset / HardDrive.SECTOR_SIZE, length)),
+                    executor);
+            previousRead = read.thenApply(data -> null);
+            loads[i] = read.thenAcceptBothAsync(frozen,
+                    (data, ignored) -> timings.timed("load", () -> memory.load(offset, data)).run(), executor);
+        }
+
+        // With an empty image there are no loads, so the freeze must be awaited on its own
+        CompletableFuture.allOf(frozen, CompletableFuture.allOf(loads))
+                .thenRunAsync(timings.timed("jump", () -> cpu.jump(0)), executor)
+                .thenRunAsync(timings.timed("execute", cpu::execute), executor)
+                .join();
+        return timings;
+    }
 }
 
 // Main class to test the Facade pattern
 public class FacadePatternDemo {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         ComputerFacade computer = new ComputerFacade();
         computer.start();
+
+        System.out.println("*** Pipelined start ***");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            System.out.print(computer.startPipelined(executor));
+        }
+
+        System.out.println("*** Transfer from a drive image ***");
+        Path image = Files.createTempFile("drive", ".img");
+        try (HardDrive drive = new HardDrive(image)) {
+            Files.write(image, "Hello from the boot sector".getBytes(StandardCharsets.US_ASCII));
+            Memory memory = new Memory(4096);
+            int moved = drive.transferTo(0, 4096, memory, 0);
+            ByteBuffer loaded = memory.region(0, moved);
+            System.out.println(moved + " bytes transferred: " + StandardCharsets.US_ASCII.decode(loaded));
+
+            try (CachingHardDrive cached = new CachingHardDrive(new HardDrive(image))) {
+                cached.transferTo(0, 4096, memory, 0);
+                cached.transferTo(0, 4096, memory, 0);
+                System.out.println("Cached drive: " + cached);
+            }
+        } finally {
+            Files.delete(image);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package Structural;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Mixes addElement() mutations with root.getFileCount() queries on a large random tree and compares
+// the cached aggregates with a full walk of the tree per query.
+// Usage: java -Xmx4g Structural.FileSystemAggregateBenchmark [nodes] [operations] [mutationPercent]
+public class FileSystemAggregateBenchmark {
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int mutationPercent = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        Random random = new Random(42);
+        Directory root = new Directory("root");
+        List<Directory> directories = new ArrayList<>();
+        directories.add(root);
+        long start = System.nanoTime();
+        for (int i = 1; i < nodes; i++) {
+            Directory parent = directories.get(random.nextInt(directories.size()));
+            if (random.nextInt(8) == 0) {
+                Directory directory = new Directory("dir" + i);
+                parent.addElement(directory);
+                directories.add(directory);
+            } else {
+                parent.addElement(new File("file" + i));
+            }
+        }
+        System.out.printf("built %,d nodes in %d ms%n", nodes, (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        sink = root.getFileCount();
+        System.out.printf("first query: %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+        int mutations = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            if (random.nextInt(100) < mutationPercent) {
+                directories.get(random.nextInt(directories.size())).addElement(new File("extra" + i));
+                mutations++;
+            } else {
+                sink = root.getFileCount();
+            }
+        }
+        long cached = System.nanoTime() - start;
+        System.out.printf("cached:    %,d operations (%d%% mutations) %8.1f ns/operation%n",
+                operations, mutationPercent, (double) cached / operations);
+
+        int walks = 5;
+        start = System.nanoTime();
+        for (int i = 0; i < walks; i++) {
+            sink = root.stream().filter(element -> element instanceof File).count();
+        }
+        System.out.printf("full walk: %,.1f ms/query%n", (System.nanoTime() - start) / 1e6 / walks);
+        System.out.printf("files now: %,d (%,d added)%n", root.getFileCount(), mutations);
+    }
+}
@@ -1,10 +1,39 @@
 package Structural;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 interface FileSystemElement {
     void listFiles();
+
+    String getName();
+
+    // Direct children; empty for leaves
+    default List<FileSystemElement> getChildren() {
+        return Collections.emptyList();
+    }
+
+    // Lazy pre-order stream of this element and everything below it
+    default Stream<FileSystemElement> stream() {
+        return FileSystemTraversal.stream(this, false);
+    }
+
+    // Same elements, with subtrees split off for parallel processing on the common ForkJoinPool
+    default Stream<FileSystemElement> parallelStream() {
+        return FileSystemTraversal.stream(this, true);
+    }
+
+    // Number of files in this subtree; a leaf counts itself
+    default long getFileCount() {
+        return 1;
+    }
+
+    // Number of directories in this subtree, including this element if it is one
+    default long getDirectoryCount() {
+        return 0;
+    }
 }
 
 class File implements FileSystemElement {
@@ -18,11 +47,22 @@ class File implements FileSystemElement {
     public void listFiles() {
         System.out.println(name);
     }
+
+    @Override
+    public String getName() {
+        return name;
+    }
 }
 
+// Aggregate counts are kept per directory and updated incrementally: addElement() adds the new element's
+// counts to this directory and each ancestor, so an update costs O(depth) and a query O(1). Counts of
+// elements that are not Directories are taken when they are added.
 class Directory implements FileSystemElement {
     private String name;
     private List<FileSystemElement> elements;
+    private Directory parent;
+    private long fileCount;
+    private long directoryCount = 1;
 
     public Directory(String name) {
         this.name = name;
@@ -30,15 +70,57 @@ class Directory implements FileSystemElement {
     }
 
     public void addElement(FileSystemElement element) {
+        if (element instanceof Directory directory) {
+            if (directory.parent != null) {
+                throw new IllegalArgumentException("Directory " + directory.name + " already has a parent");
+            }
+            for (Directory ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+                if (ancestor == directory) {
+                    throw new IllegalArgumentException("Directory " + directory.name + " cannot contain itself");
+                }
+            }
+            directory.parent = this;
+        }
         elements.add(element);
+        long files = element.getFileCount();
+        long directories = element.getDirectoryCount();
+        for (Directory directory = this; directory != null; directory = directory.parent) {
+            directory.fileCount += files;
+            directory.directoryCount += directories;
+        }
     }
 
+    @Override
+    public long getFileCount() {
+        return fileCount;
+    }
+
+    @Override
+    public long getDirectoryCount() {
+        return directoryCount;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public List<FileSystemElement> getChildren() {
+        return Collections.unmodifiableList(elements);
+    }
+
+    // Walks the tree iteratively, so deep hierarchies cannot overflow the call stack. Only leaves list
+    // themselves; an element with children would also print the subtree the walk is about to visit.
     @Override
     public void listFiles() {
-        System.out.println(name + ":");
-        for (FileSystemElement element : elements) {
-            element.listFiles();
-        }
+        stream().forEachOrdered(element -> {
+            if (element instanceof Directory || !element.getChildren().isEmpty()) {
+                System.out.println(element.getName() + ":");
+            } else {
+                element.listFiles();
+            }
+        });
     }
 }
 
@@ -56,5 +138,16 @@ public class FileSystemClient {
         dir2.addElement(file2);
 
         root.listFiles();
+
+        System.out.println(root.parallelStream().filter(element -> element instanceof File).count() + " files");
+        System.out.println(root.getFileCount() + " files in " + root.getDirectoryCount() + " directories");
+
+        PackedFileTree packed = PackedFileTree.of(root);
+        packed.root().listFiles();
+
+        // Packed views can be mixed into an object tree
+        Directory mixed = new Directory("mixed");
+        mixed.addElement(packed.node(1));
+        mixed.listFiles();
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package Structural;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Iterative, splittable pre-order traversal of a FileSystemElement tree.
+// The tree must not be modified while a traversal is running.
+final class FileSystemTraversal {
+    private FileSystemTraversal() { }
+
+    public static Stream<FileSystemElement> stream(FileSystemElement root, boolean parallel) {
+        return StreamSupport.stream(new TreeSpliterator(root), parallel);
+    }
+
+    // Runs action on every element in parallel on the given pool
+    public static void forEachParallel(FileSystemElement root, ForkJoinPool pool, Consumer<? super FileSystemElement> action) {
+        pool.submit(() -> stream(root, true).forEach(action)).join();
+    }
+
+    // Pending work is a stack of ranges over child lists instead of call frames. A range marked
+    // "shallow" emits its elements without descending into them.
+    private static final class Range {
+        final List<FileSystemElement> elements;
+        int next;
+        int end;
+        final boolean shallow;
+
+        Range(List<FileSystemElement> elements, int next, int end, boolean shallow) {
+            this.elements = elements;
+            this.next = next;
+            this.end = end;
+            this.shallow = shallow;
+        }
+
+        int remaining() {
+            return end - next;
+        }
+    }
+
+    static final class TreeSpliterator implements Spliterator<FileSystemElement> {
+        // Top of the stack (processed first) is the last entry
+        private ArrayList<Range> stack = new ArrayList<>();
+
+        TreeSpliterator(FileSystemElement root) {
+            stack.add(new Range(Collections.singletonList(root), 0, 1, false));
+        }
+
+        private TreeSpliterator(ArrayList<Range> stack) {
+            this.stack = stack;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super FileSystemElement> action) {
+            while (!stack.isEmpty()) {
+                Range top = stack.get(stack.size() - 1);
+                if (top.next == top.end) {
+                    stack.remove(stack.size() - 1);
+                    continue;
+                }
+                FileSystemElement element = top.elements.get(top.next++);
+                if (!top.shallow) {
+                    List<FileSystemElement> children = element.getChildren();
+                    if (!children.isEmpty()) {
+                        stack.add(new Range(children, 0, children.size(), false));
+                    }
+                }
+                action.accept(element);
+                return true;
+            }
+            return false;
+        }
+
+        // Splits off a prefix of the remaining elements. Prefers the oldest range with at least two
+        // elements left, since its elements head the largest remaining subtrees.
+        @Override
+        public Spliterator<FileSystemElement> trySplit() {
+            for (int i = 0; i < stack.size(); i++) {
+                Range range = stack.get(i);
+                if (range.remaining() >= 2) {
+                    int mid = range.next + range.remaining() / 2;
+                    // The prefix takes everything above this range plus its first half
+                    ArrayList<Range> prefix = new ArrayList<>(stack.subList(i + 1, stack.size()));
+                    prefix.add(0, new Range(range.elements, range.next, mid, range.shallow));
+                    stack.subList(i + 1, stack.size()).clear();
+                    range.next = mid;
+                    return new TreeSpliterator(prefix);
+                }
+            }
+            // Only single elements left: if the next one is a directory, split its children instead
+            Range top = stack.isEmpty() ? null : stack.get(stack.size() - 1);
+            if (top == null || top.remaining() != 1 || top.shallow) {
+                return null;
+            }
+            FileSystemElement next = top.elements.get(top.next);
+            List<FileSystemElement> children = next.getChildren();
+            if (children.size() < 2) {
+                return null;
+            }
+            int mid = children.size() / 2;
+            ArrayList<Range> prefix = new ArrayList<>();
+            prefix.add(new Range(children, 0, mid, false));
+            prefix.add(new Range(top.elements, top.next, top.next + 1, true));
+            top.next++;
+            stack.add(new Range(children, mid, children.size(), false));
+            return new TreeSpliterator(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return stack.isEmpty() ? 0 : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package Structural;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable, flattened form of a decorator chain. Cost and description are computed once when the chain
+// is compiled, and repeated add-ons are collapsed into counts ("Simple coffee, Milk x2, Sugar").
+final class FlatCoffee implements Coffee {
+    private final Coffee base;
+    private final Map<String, Integer> addOnCounts;
+    private final String description;
+    private final double cost;
+    private final long costCents;
+
+    private FlatCoffee(Coffee base, Map<String, Integer> addOnCounts, String description, double cost, long costCents) {
+        this.base = base;
+        this.addOnCounts = addOnCounts;
+        this.description = description;
+        this.cost = cost;
+        this.costCents = costCents;
+    }
+
+    // Walks the chain once. If any decorator does not describe its add-on, the description and cost are
+    // taken from the chain itself, so the result is still cached but its add-ons are not collapsed.
+    public static FlatCoffee of(Coffee coffee) {
+        if (coffee instanceof FlatCoffee flat) {
+            return flat;
+        }
+        List<CoffeeDecorator> decorators = new ArrayList<>();
+        Coffee base = coffee;
+        while (base instanceof CoffeeDecorator decorator) {
+            decorators.add(decorator);
+            base = decorator.decoratedCoffee;
+        }
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        // Add costs innermost first, exactly as the chain does, so the double result is identical
+        double cost = base.getCost();
+        long costCents = base.getCostCents();
+        for (int i = decorators.size() - 1; i >= 0; i--) {
+            CoffeeDecorator decorator = decorators.get(i);
+            String name = decorator.getAddOnName();
+            if (name == null) {
+                return new FlatCoffee(base, Collections.emptyMap(), coffee.getDescription(), coffee.getCost(),
+                        coffee.getCostCents());
+            }
+            counts.merge(name, 1, Integer::sum);
+            cost += decorator.getAddOnCost();
+            costCents += decorator.getAddOnCostCents();
+        }
+
+        StringBuilder description = new StringBuilder(base.getDescription());
+        for (Map.Entry<String, Integer> addOn : counts.entrySet()) {
+            description.append(", ").append(addOn.getKey());
+            if (addOn.getValue() > 1) {
+                description.append(" x").append(addOn.getValue());
+            }
+        }
+        return new FlatCoffee(base, Collections.unmodifiableMap(counts), description.toString(), cost, costCents);
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public double getCost() {
+        return cost;
+    }
+
+    @Override
+    public long getCostCents() {
+        return costCents;
+    }
+
+    public Coffee getBase() {
+        return base;
+    }
+
+    public int getAddOnCount(String addOn) {
+        return addOnCounts.getOrDefault(addOn, 0);
+    }
+
+    // Add-ons in order of first appearance, with how often each was added
+    public Map<String, Integer> getAddOnCounts() {
+        return addOnCounts;
+    }
+}
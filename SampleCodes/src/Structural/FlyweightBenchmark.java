@@ -0,0 +1,78 @@
+package Structural;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Random;
+
+// Compares flyweight lookup through a HashMap<String, Shape> (the original ShapeFactory), through
+// ShapeFactory.getCircle(String) and through pre-resolved color ids with ShapeFactory.getCircle(int).
+// Usage: java Structural.FlyweightBenchmark [lookupsPerRound]
+public class FlyweightBenchmark {
+    private static final int[] PALETTE_SIZES = { 4, 16, 64, 256, 1024, 4096 };
+    private static final int ROUNDS = 20;
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+
+        for (int paletteSize : PALETTE_SIZES) {
+            String[] colors = new String[paletteSize];
+            HashMap<String, Shape> circleMap = new HashMap<>();
+            for (int i = 0; i < paletteSize; i++) {
+                colors[i] = "Color" + i;
+                circleMap.put(colors[i], new Circle(colors[i]));
+            }
+
+            // Creating flyweights prints a line per color; keep that out of the output
+            PrintStream out = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            int[] colorIds = new int[paletteSize];
+            try {
+                ShapeFactory.configure(paletteSize, paletteSize, BoundedCache.EvictionPolicy.W_TINY_LFU, false);
+                for (int i = 0; i < paletteSize; i++) {
+                    colorIds[i] = ShapeFactory.colorId(colors[i]);
+                    ShapeFactory.getCircle(colorIds[i]);
+                }
+            } finally {
+                System.setOut(out);
+            }
+
+            Random random = new Random(42);
+            int[] sequence = new int[lookups];
+            for (int i = 0; i < lookups; i++) {
+                sequence[i] = random.nextInt(paletteSize);
+            }
+
+            double hashMap = measure(lookups, () -> {
+                for (int i : sequence) {
+                    sink = circleMap.get(colors[i]);
+                }
+            });
+            double byName = measure(lookups, () -> {
+                for (int i : sequence) {
+                    sink = ShapeFactory.getCircle(colors[i]);
+                }
+            });
+            double byId = measure(lookups, () -> {
+                for (int i : sequence) {
+                    sink = ShapeFactory.getCircle(colorIds[i]);
+                }
+            });
+            System.out.printf("palette=%-5d HashMap<String> %6.2f ns  getCircle(String) %6.2f ns  getCircle(int) %6.2f ns%n",
+                    paletteSize, hashMap, byName, byId);
+        }
+    }
+
+    private static double measure(int lookups, Runnable round) {
+        for (int i = 0; i < ROUNDS / 2; i++) {
+            round.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            round.run();
+        }
+        return (double) (System.nanoTime() - start) / ((long) ROUNDS * lookups);
+    }
+}
@@ -1,13 +1,30 @@
 package Structural;
 
-import java.util.HashMap;
-
 interface Shape {
     void draw();
+
+    // Extrinsic state is passed per call, so one shared flyweight can be drawn by many threads at once
+    void draw(Canvas canvas, int x, int y, int radius);
+}
+
+// Receives the draw calls of shapes
+interface Canvas {
+    void drawCircle(String color, int x, int y, int radius);
+}
+
+// Canvas that prints every draw call to System.out
+class ConsoleCanvas implements Canvas {
+    static final ConsoleCanvas INSTANCE = new ConsoleCanvas();
+
+    @Override
+    public void drawCircle(String color, int x, int y, int radius) {
+        System.out.println("Circle: Draw() [Color : " + color + ", x : " + x + ", y :" + y + ", radius :" + radius);
+    }
 }
 
+// Intrinsic state (color) is shared; the x, y and radius fields only back the legacy setter-based draw()
 class Circle implements Shape {
-    private String color;
+    private final String color;
     private int x, y, radius;
 
     public Circle(String color) {
@@ -26,43 +43,114 @@ class Circle implements Shape {
         this.radius = radius;
     }
 
+    public String getColor() {
+        return color;
+    }
+
     public void draw() {
-        System.out.println("Circle: Draw() [Color : " + color + ", x : " + x + ", y :" + y + ", radius :" + radius);
+        draw(ConsoleCanvas.INSTANCE, x, y, radius);
+    }
+
+    @Override
+    public void draw(Canvas canvas, int x, int y, int radius) {
+        canvas.drawCircle(color, x, y, radius);
     }
 }
 
+// Colors registered with colorId() live in flat array slots addressed by color id. Every other color
+// (the long tail) goes through the bounded flyweight cache, so one-off colors never pin a palette slot.
+// A color that is registered after being served from the cache moves its flyweight into the palette.
 class ShapeFactory {
-    private static final HashMap<String, Shape> circleMap = new HashMap<>();
+    private static final int DEFAULT_PALETTE_SIZE = 256;
+    private static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    // Palette and cache are replaced together, so readers never pair one configuration's palette with
+    // another's cache
+    private static volatile Flyweights flyweights = Flyweights.create(DEFAULT_PALETTE_SIZE, DEFAULT_MAXIMUM_SIZE,
+            BoundedCache.EvictionPolicy.W_TINY_LFU, false);
 
     public static Shape getCircle(String color) {
-        Circle circle = (Circle) circleMap.get(color);
+        Flyweights current = flyweights;
+        int colorId = current.palette.find(color);
+        if (colorId >= 0) {
+            return current.palette.get(colorId);
+        }
+        Shape shape = current.cache.computeIfAbsent(color, ShapeFactory::createCircle);
+        // The color may have been registered meanwhile; the palette's flyweight is the one to share
+        colorId = current.palette.find(color);
+        return colorId >= 0 ? current.palette.get(colorId) : shape;
+    }
 
-        if (circle == null) {
-            circle = new Circle(color);
-            circleMap.put(color, circle);
-            System.out.println("Creating circle of color : " + color);
+    // Registers a hot color in the palette and returns its id; returns -1 if the palette is full
+    public static int colorId(String color) {
+        return flyweights.palette.idOf(color);
+    }
+
+    public static Shape getCircle(int colorId) {
+        return flyweights.palette.get(colorId);
+    }
+
+    private static Shape createCircle(String color) {
+        System.out.println("Creating circle of color : " + color);
+        return new Circle(color);
+    }
+
+    // Replaces the palette and the flyweight cache; existing flyweights and color ids are dropped
+    public static void configure(int maximumSize, BoundedCache.EvictionPolicy policy, boolean weakValues) {
+        configure(DEFAULT_PALETTE_SIZE, maximumSize, policy, weakValues);
+    }
+
+    public static void configure(int paletteSize, int maximumSize, BoundedCache.EvictionPolicy policy, boolean weakValues) {
+        flyweights = Flyweights.create(paletteSize, maximumSize, policy, weakValues);
+    }
+
+    // Hit, miss and eviction counters of the cache that holds every color not registered in the palette
+    public static BoundedCache<String, Shape> getCache() {
+        return flyweights.cache;
+    }
+
+    private record Flyweights(ColorPalette palette, BoundedCache<String, Shape> cache) {
+        static Flyweights create(int paletteSize, int maximumSize, BoundedCache.EvictionPolicy policy,
+                                 boolean weakValues) {
+            BoundedCache<String, Shape> cache = new BoundedCache<>(maximumSize, policy, weakValues);
+            // A newly registered color adopts the flyweight the cache already handed out
+            ColorPalette palette = new ColorPalette(paletteSize, color -> {
+                Shape cached = cache.remove(color);
+                return cached != null ? cached : createCircle(color);
+            });
+            return new Flyweights(palette, cache);
         }
-        return circle;
     }
 }
 
 public class FlyweightPattern {
     private static final String colors[] = { "Red", "Green", "Blue", "White", "Black" };
+    private static final int colorIds[] = new int[colors.length];
 
     public static void main(String[] args) {
+        for (int i = 0; i < colors.length; ++i) {
+            colorIds[i] = ShapeFactory.colorId(colors[i]);
+        }
         for (int i = 0; i < 20; ++i) {
-            Circle circle = (Circle) ShapeFactory.getCircle(getRandomColor());
-            circle.setX(getRandomX());
-            circle.setY(getRandomY());
-            circle.setRadius(100 + 20*i);
-            circle.draw();
+            Shape circle = ShapeFactory.getCircle(getRandomColorId());
+            circle.draw(ConsoleCanvas.INSTANCE, getRandomX(), getRandomY(), 100 + 20*i);
         }
+
+        ShapeBatch batch = new ShapeBatch();
+        for (int i = 0; i < 5; ++i) {
+            batch.add(ShapeFactory.getCircle(getRandomColor()), getRandomX(), getRandomY(), 10 * i);
+        }
+        batch.drawAll(ConsoleCanvas.INSTANCE);
     }
 
     private static String getRandomColor() {
         return colors[(int) (Math.random() * colors.length)];
     }
 
+    private static int getRandomColorId() {
+        return colorIds[(int) (Math.random() * colorIds.length)];
+    }
+
     private static int getRandomX() {
         return (int) (Math.random() * 100);
     }
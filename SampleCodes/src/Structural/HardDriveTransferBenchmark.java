@@ -0,0 +1,62 @@
+package Structural;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Compares HardDrive -> Memory transfers of 1 KB up to 1 GB from a drive image in the page cache:
+// "byte[]" is memory.load(position, drive.read(lba, size)), which allocates and copies on the heap;
+// "transferTo" reads straight into the memory's off-heap backing store.
+// Usage: java -Xmx3g Structural.HardDriveTransferBenchmark [maxBytes]
+public class HardDriveTransferBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws IOException {
+        long maxBytes = args.length > 0 ? Long.parseLong(args[0]) : 1L << 30;
+        if (maxBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Transfers are limited to 2 GB: " + maxBytes);
+        }
+
+        Path image = BenchmarkFiles.createPatternFile("drive-transfer-benchmark", maxBytes);
+        PrintStream out = System.out;
+        try (HardDrive drive = new HardDrive(image)) {
+            Memory memory = new Memory((int) maxBytes);
+            for (long size = 1024; size <= maxBytes; size *= 32) {
+                int bytes = (int) size;
+                int repetitions = (int) Math.max(3, Math.min(10_000, (256L << 20) / size));
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                double[] heap = measure(repetitions, () -> memory.load(0, drive.read(0, bytes)));
+                double[] direct = measure(repetitions, () -> sink = drive.transferTo(0, bytes, memory, 0));
+                System.setOut(out);
+                out.printf("%-8s byte[] %12.1f us %9.1f MB/s %12.0f B/op   transferTo %12.1f us %9.1f MB/s %8.0f B/op%n",
+                        BenchmarkFiles.humanSize(size), heap[0] / 1e3, size / heap[0] * 1e3, heap[1],
+                        direct[0] / 1e3, size / direct[0] * 1e3, direct[1]);
+            }
+        } finally {
+            System.setOut(out);
+            Files.delete(image);
+        }
+    }
+
+    // Mean nanoseconds and allocated bytes per transfer, after a warm-up pass
+    private static double[] measure(int repetitions, Runnable transfer) {
+        for (int i = 0; i < Math.max(1, repetitions / 2); i++) {
+            transfer.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            transfer.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+        return new double[] { (double) elapsed / repetitions, (double) allocated / repetitions };
+    }
+}
@@ -0,0 +1,77 @@
+package Structural;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Compares RealImage loading into heap buffers with memory-mapped loading for files of 4 KB up to 1 GB.
+// "load" is the constructor alone; "load+scan" also touches every byte, which is when mapped pages are
+// actually read from the page cache.
+// Usage: java -Xmx2g Structural.ImageLoadBenchmark [maxBytes] [mappingSize]
+public class ImageLoadBenchmark {
+    private static volatile long sink;
+
+    public static void main(String[] args) throws IOException {
+        long maxBytes = args.length > 0 ? Long.parseLong(args[0]) : 1L << 30;
+        int mappingSize = args.length > 1 ? Integer.parseInt(args[1]) : RealImage.DEFAULT_MAPPING_SIZE;
+
+        Path directory = Files.createTempDirectory("image-load-benchmark");
+        try {
+            for (long size = 4096; size <= maxBytes; size *= 16) {
+                Path file = directory.resolve("image-" + size + ".bin");
+                BenchmarkFiles.writePattern(file, size);
+                try {
+                    int repetitions = (int) Math.max(3, Math.min(10_000, (256L << 20) / size));
+                    for (RealImage.LoadMode mode : RealImage.LoadMode.values()) {
+                        double load = measure(file, mode, mappingSize, repetitions, false);
+                        double scan = measure(file, mode, mappingSize, repetitions, true);
+                        System.out.printf("%-10s %-6s load %12.1f us (%9.1f MB/s)  load+scan %12.1f us (%9.1f MB/s)%n",
+                                BenchmarkFiles.humanSize(size), mode, load / 1e3, size / load * 1e3,
+                                scan / 1e3, size / scan * 1e3);
+                    }
+                } finally {
+                    Files.delete(file);
+                }
+            }
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    // Mean nanoseconds per image, measured after a warm-up pass so the file is in the page cache
+    private static double measure(Path file, RealImage.LoadMode mode, int mappingSize, int repetitions, boolean scan) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (int i = 0; i < Math.max(1, repetitions / 2); i++) {
+                load(file, mode, mappingSize, scan);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                load(file, mode, mappingSize, scan);
+            }
+            return (double) (System.nanoTime() - start) / repetitions;
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    private static void load(Path file, RealImage.LoadMode mode, int mappingSize, boolean scan) {
+        RealImage image = new RealImage(file.toString(), mode, mappingSize);
+        if (scan) {
+            long checksum = 0;
+            for (ByteBuffer region : image.getData()) {
+                while (region.remaining() >= Long.BYTES) {
+                    checksum += region.getLong();
+                }
+                while (region.hasRemaining()) {
+                    checksum += region.get();
+                }
+            }
+            sink = checksum;
+        }
+    }
+}
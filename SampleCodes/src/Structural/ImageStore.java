@@ -0,0 +1,113 @@
+package Structural;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Shared store of loaded RealImages, bounded by their total size in bytes with LRU eviction.
+// Concurrent requests for an image that is not loaded yet share a single load: the first caller
+// starts it and everyone else waits for the same future. close() only shuts down a prefetch executor the
+// store created itself.
+class ImageStore implements AutoCloseable {
+    private final BoundedCache<String, RealImage> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<RealImage>> loading = new ConcurrentHashMap<>();
+    private final Executor prefetchExecutor;
+    private final ExecutorService ownedExecutor;
+
+    public ImageStore(long maximumBytes) {
+        this(maximumBytes, Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    public ImageStore(long maximumBytes, Executor prefetchExecutor) {
+        this(maximumBytes, prefetchExecutor, false);
+    }
+
+    private ImageStore(long maximumBytes, Executor prefetchExecutor, boolean owned) {
+        // Images are few and heavy, so one LRU over the whole budget beats lock striping here; the cache
+        // lock is never held while an image loads. Every image weighs at least one byte.
+        this.cache = new BoundedCache<>(maximumBytes, BoundedCache.EvictionPolicy.LRU, false,
+                image -> (int) Math.min(Integer.MAX_VALUE, Math.max(1, image.getSizeBytes())), 1);
+        this.prefetchExecutor = prefetchExecutor;
+        this.ownedExecutor = owned ? (ExecutorService) prefetchExecutor : null;
+    }
+
+    public RealImage get(String fileName) {
+        RealImage image = cache.get(fileName);
+        if (image != null) {
+            return image;
+        }
+        try {
+            return load(fileName).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Warms the cache in the background; the returned future completes once every image is loaded
+    public CompletableFuture<Void> prefetch(Collection<String> fileNames) {
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[fileNames.size()];
+        int i = 0;
+        for (String fileName : fileNames) {
+            loads[i++] = CompletableFuture.supplyAsync(() -> get(fileName), prefetchExecutor);
+        }
+        return CompletableFuture.allOf(loads);
+    }
+
+    private CompletableFuture<RealImage> load(String fileName) {
+        CompletableFuture<RealImage> created = new CompletableFuture<>();
+        CompletableFuture<RealImage> existing = loading.putIfAbsent(fileName, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            // Another thread may have finished loading between our cache miss and putIfAbsent
+            RealImage image = cache.get(fileName);
+            if (image == null) {
+                image = new RealImage(fileName);
+                cache.put(fileName, image);
+            }
+            created.complete(image);
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+        } finally {
+            loading.remove(fileName, created);
+        }
+        return created;
+    }
+
+    // Waits for running prefetches, then stops the store's own executor; later prefetches are rejected
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.close();
+        }
+    }
+
+    // Hit, miss and eviction counters of the image cache
+    public BoundedCache<String, RealImage> getCache() {
+        return cache;
+    }
+}
+
+// Proxy that never keeps its own reference to the loaded image, so the store can evict it
+class CachingProxyImage implements Image {
+    private final String fileName;
+    private final ImageStore store;
+
+    public CachingProxyImage(String fileName, ImageStore store) {
+        this.fileName = fileName;
+        this.store = store;
+    }
+
+    @Override
+    public void display() {
+        store.get(fileName).display();
+    }
+}
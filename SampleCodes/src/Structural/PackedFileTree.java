@@ -0,0 +1,314 @@
+package Structural;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Compact, array-backed Composite. Nodes are stored in pre-order as parallel primitive columns
+// (parent, first child, next sibling, name offset, kind) and every name lives in one shared UTF-8 byte
+// pool, so a node costs about 17 bytes plus its name instead of an object, a String and an ArrayList.
+// Node views implement FileSystemElement, so existing clients keep working. A packed tree can be saved
+// to a file and loaded back through a read-only memory mapping.
+final class PackedFileTree {
+    private static final int MAGIC = 0x50465431; // "PFT1"
+    private static final int HEADER_BYTES = 16;
+    private static final int NONE = -1;
+    private static final byte FILE = 0;
+    private static final byte DIRECTORY = 1;
+
+    private final int size;
+    private final IntBuffer parents;
+    private final IntBuffer firstChildren;
+    private final IntBuffer nextSiblings;
+    // size + 1 entries; the name of node i is names[nameOffsets[i], nameOffsets[i + 1])
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer kinds;
+    private final ByteBuffer names;
+
+    private PackedFileTree(int size, IntBuffer parents, IntBuffer firstChildren, IntBuffer nextSiblings,
+                           IntBuffer nameOffsets, ByteBuffer kinds, ByteBuffer names) {
+        this.size = size;
+        this.parents = parents;
+        this.firstChildren = firstChildren;
+        this.nextSiblings = nextSiblings;
+        this.nameOffsets = nameOffsets;
+        this.kinds = kinds;
+        this.names = names;
+    }
+
+    // Packs an object tree, walking it iteratively in pre-order
+    public static PackedFileTree of(FileSystemElement root) {
+        int capacity = 1024;
+        int[] parents = new int[capacity];
+        int[] firstChildren = new int[capacity];
+        int[] nextSiblings = new int[capacity];
+        int[] lastChildren = new int[capacity];
+        int[] nameOffsets = new int[capacity + 1];
+        byte[] kinds = new byte[capacity];
+        byte[] names = new byte[capacity * 8];
+        int nameBytes = 0;
+        int size = 0;
+
+        ArrayDeque<FileSystemElement> elements = new ArrayDeque<>();
+        ArrayDeque<Integer> parentIndexes = new ArrayDeque<>();
+        elements.push(root);
+        parentIndexes.push(NONE);
+        while (!elements.isEmpty()) {
+            FileSystemElement element = elements.pop();
+            int parent = parentIndexes.pop();
+            if (size == capacity) {
+                capacity *= 2;
+                parents = Arrays.copyOf(parents, capacity);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+                lastChildren = Arrays.copyOf(lastChildren, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+                kinds = Arrays.copyOf(kinds, capacity);
+            }
+            int index = size++;
+            parents[index] = parent;
+            firstChildren[index] = NONE;
+            nextSiblings[index] = NONE;
+            if (parent != NONE) {
+                if (firstChildren[parent] == NONE) {
+                    firstChildren[parent] = index;
+                } else {
+                    nextSiblings[lastChildren[parent]] = index;
+                }
+                lastChildren[parent] = index;
+            }
+
+            byte[] name = element.getName().getBytes(StandardCharsets.UTF_8);
+            if (nameBytes + name.length > names.length) {
+                long grown = Math.max((long) names.length * 2, (long) nameBytes + name.length);
+                if (grown > Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("Names exceed the 2 GB pool limit");
+                }
+                names = Arrays.copyOf(names, (int) grown);
+            }
+            System.arraycopy(name, 0, names, nameBytes, name.length);
+            nameOffsets[index] = nameBytes;
+            nameBytes += name.length;
+            nameOffsets[index + 1] = nameBytes;
+
+            List<FileSystemElement> children = element.getChildren();
+            kinds[index] = isDirectory(element, children) ? DIRECTORY : FILE;
+            // Push in reverse so the first child is visited next
+            for (int i = children.size() - 1; i >= 0; i--) {
+                elements.push(children.get(i));
+                parentIndexes.push(index);
+            }
+        }
+
+        return new PackedFileTree(size,
+                IntBuffer.wrap(parents, 0, size).slice(),
+                IntBuffer.wrap(firstChildren, 0, size).slice(),
+                IntBuffer.wrap(nextSiblings, 0, size).slice(),
+                IntBuffer.wrap(nameOffsets, 0, size + 1).slice(),
+                ByteBuffer.wrap(kinds, 0, size).slice(),
+                ByteBuffer.wrap(names, 0, nameBytes).slice());
+    }
+
+    private static boolean isDirectory(FileSystemElement element, List<FileSystemElement> children) {
+        return element instanceof Directory
+                || element instanceof Node node && node.isDirectory()
+                || !children.isEmpty();
+    }
+
+    // File layout (little endian): magic, version, size, name bytes, then the parent, first child,
+    // next sibling and name offset columns, the kind bytes and finally the name pool
+    public void save(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(1).putInt(size).putInt(names.limit());
+            for (IntBuffer column : new IntBuffer[] { parents, firstChildren, nextSiblings, nameOffsets }) {
+                for (int i = 0; i < column.limit(); i++) {
+                    if (buffer.remaining() < Integer.BYTES) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putInt(column.get(i));
+                }
+            }
+            drain(channel, buffer);
+            for (ByteBuffer bytes : new ByteBuffer[] { kinds, names }) {
+                ByteBuffer view = bytes.duplicate().clear();
+                while (view.hasRemaining()) {
+                    channel.write(view);
+                }
+            }
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Maps a saved tree read-only; nothing is copied onto the heap, pages load as they are touched
+    public static PackedFileTree load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Packed tree larger than 2 GB: " + file);
+            }
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.limit() < HEADER_BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != 1) {
+                throw new IOException("Not a packed file tree: " + file);
+            }
+            int size = mapped.getInt(8);
+            int nameBytes = mapped.getInt(12);
+            long expected = HEADER_BYTES + 4L * (4L * size + 1) + size + nameBytes;
+            if (size <= 0 || nameBytes < 0 || expected != mapped.limit()) {
+                throw new IOException("Corrupt packed file tree: " + file);
+            }
+            int position = HEADER_BYTES;
+            IntBuffer parents = intColumn(mapped, position, size);
+            position += 4 * size;
+            IntBuffer firstChildren = intColumn(mapped, position, size);
+            position += 4 * size;
+            IntBuffer nextSiblings = intColumn(mapped, position, size);
+            position += 4 * size;
+            IntBuffer nameOffsets = intColumn(mapped, position, size + 1);
+            position += 4 * (size + 1);
+            ByteBuffer kinds = mapped.slice(position, size);
+            position += size;
+            ByteBuffer names = mapped.slice(position, nameBytes);
+            return new PackedFileTree(size, parents, firstChildren, nextSiblings, nameOffsets, kinds, names);
+        }
+    }
+
+    private static IntBuffer intColumn(ByteBuffer mapped, int position, int length) {
+        return mapped.slice(position, length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Node root() {
+        return new Node(this, 0);
+    }
+
+    public Node node(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Node " + index + " out of bounds for size " + size);
+        }
+        return new Node(this, index);
+    }
+
+    private String name(int index) {
+        int start = nameOffsets.get(index);
+        byte[] bytes = new byte[nameOffsets.get(index + 1) - start];
+        names.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // One past the last node of index's subtree: in pre-order a subtree is a contiguous range that ends
+    // where the next sibling of the node or of its nearest ancestor that has one begins
+    private int subtreeEnd(int index) {
+        for (int node = index; node != NONE; node = parents.get(node)) {
+            int sibling = nextSiblings.get(node);
+            if (sibling != NONE) {
+                return sibling;
+            }
+        }
+        return size;
+    }
+
+    private long count(int index, byte kind) {
+        long count = 0;
+        for (int i = index, end = subtreeEnd(index); i < end; i++) {
+            if (kinds.get(i) == kind) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Lightweight view of one node; views are created on demand and compare equal by tree and index
+    static final class Node implements FileSystemElement {
+        private final PackedFileTree tree;
+        private final int index;
+
+        private Node(PackedFileTree tree, int index) {
+            this.tree = tree;
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public boolean isDirectory() {
+            return tree.kinds.get(index) == DIRECTORY;
+        }
+
+        public Node getParent() {
+            int parent = tree.parents.get(index);
+            return parent == NONE ? null : new Node(tree, parent);
+        }
+
+        @Override
+        public String getName() {
+            return tree.name(index);
+        }
+
+        @Override
+        public List<FileSystemElement> getChildren() {
+            int child = tree.firstChildren.get(index);
+            if (child == NONE) {
+                return Collections.emptyList();
+            }
+            List<FileSystemElement> children = new ArrayList<>();
+            for (; child != NONE; child = tree.nextSiblings.get(child)) {
+                children.add(new Node(tree, child));
+            }
+            return children;
+        }
+
+        @Override
+        public void listFiles() {
+            stream().forEachOrdered(element -> System.out.println(
+                    element instanceof Node node && node.isDirectory() ? node.getName() + ":" : element.getName()));
+        }
+
+        @Override
+        public long getFileCount() {
+            return tree.count(index, FILE);
+        }
+
+        @Override
+        public long getDirectoryCount() {
+            return tree.count(index, DIRECTORY);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Node other && other.tree == tree && other.index == index;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(tree) * 31 + index;
+        }
+
+        @Override
+        public String toString() {
+            return getName();
+        }
+    }
+}
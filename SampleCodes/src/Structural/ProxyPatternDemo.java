@@ -1,5 +1,16 @@
 package Structural;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
 // Subject interface
 interface Image {
     void display();
@@ -7,15 +18,76 @@ interface Image {
 
 // RealSubject class
 class RealImage implements Image {
+    // How the image bytes are read: copied onto the heap, or mapped straight from the file
+    enum LoadMode { HEAP, MAPPED }
+
+    static final int DEFAULT_MAPPING_SIZE = 64 * 1024 * 1024;
+
     private String fileName;
+    private final LoadMode mode;
+    private final int mappingSize;
+    private long sizeBytes;
+    private ByteBuffer[] regions = new ByteBuffer[0];
 
     public RealImage(String fileName) {
+        this(fileName, LoadMode.MAPPED, DEFAULT_MAPPING_SIZE);
+    }
+
+    // Files larger than mappingSize are read or mapped as several regions of at most mappingSize bytes
+    public RealImage(String fileName, LoadMode mode, int mappingSize) {
+        if (mappingSize <= 0) {
+            throw new IllegalArgumentException("mappingSize must be positive: " + mappingSize);
+        }
         this.fileName = fileName;
+        this.mode = mode;
+        this.mappingSize = mappingSize;
         loadFromDisk();
     }
 
     private void loadFromDisk() {
         System.out.println("Loading " + fileName);
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            sizeBytes = channel.size();
+            int count = (int) ((sizeBytes + mappingSize - 1) / mappingSize);
+            ByteBuffer[] loaded = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long position = (long) i * mappingSize;
+                int length = (int) Math.min(mappingSize, sizeBytes - position);
+                loaded[i] = mode == LoadMode.MAPPED
+                        ? channel.map(FileChannel.MapMode.READ_ONLY, position, length)
+                        : readRegion(channel, position, length);
+            }
+            regions = loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load " + fileName, e);
+        }
+    }
+
+    private static ByteBuffer readRegion(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("File shrank while reading");
+            }
+        }
+        return buffer.flip();
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    // Read-only views of the image bytes, in file order; no bytes are copied
+    public List<ByteBuffer> getData() {
+        List<ByteBuffer> views = new ArrayList<>(regions.length);
+        for (ByteBuffer region : regions) {
+            views.add(region.asReadOnlyBuffer());
+        }
+        return views;
     }
 
     @Override
@@ -44,13 +116,47 @@ class ProxyImage implements Image {
 
 // Client code
 public class ProxyPatternDemo {
-    public static void main(String[] args) {
-        Image image = new ProxyImage("test_image.jpg");
+    public static void main(String[] args) throws IOException {
+        // Sample images on disk; a missing file makes loading fail
+        Path directory = Files.createTempDirectory("proxy-demo");
+        try {
+            for (String name : List.of("test_image.jpg", "photo1.jpg", "photo2.jpg")) {
+                Files.write(directory.resolve(name), new byte[1024]);
+            }
+            run(directory);
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static void run(Path directory) {
+        Image image = new ProxyImage(directory.resolve("test_image.jpg").toString());
 
         // Image will be loaded from disk
         image.display();
 
         // Image will not be loaded from disk
         image.display();
+
+        // Images shared through a byte-bounded cache; concurrent first displays share a single load
+        try (ImageStore store = new ImageStore(64L * 1024 * 1024)) {
+            String photo1 = directory.resolve("photo1.jpg").toString();
+            store.prefetch(List.of(photo1, directory.resolve("photo2.jpg").toString())).join();
+            Image cached = new CachingProxyImage(photo1, store);
+            cached.display();
+
+            // A failed load fails every waiting caller and nothing is cached for it
+            try {
+                new CachingProxyImage(directory.resolve("missing.jpg").toString(), store).display();
+            } catch (UncheckedIOException e) {
+                System.out.println(e.getMessage() + ": " + e.getCause());
+            }
+            System.out.println(store.getCache());
+        }
     }
 }
\ No newline at end of file
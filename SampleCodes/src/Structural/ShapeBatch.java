@@ -0,0 +1,81 @@
+package Structural;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+// Columnar batch of shapes to draw. Every entry is a flyweight index plus x, y and radius held in
+// primitive int[] columns, so adding an entry and drawAll() allocate nothing per shape.
+class ShapeBatch {
+    private Shape[] flyweights = new Shape[8];
+    private final IdentityHashMap<Shape, Integer> flyweightIndexes = new IdentityHashMap<>();
+    private int flyweightCount;
+
+    private int[] shapes;
+    private int[] xs;
+    private int[] ys;
+    private int[] radii;
+    private int size;
+
+    public ShapeBatch() {
+        this(64);
+    }
+
+    public ShapeBatch(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        shapes = new int[capacity];
+        xs = new int[capacity];
+        ys = new int[capacity];
+        radii = new int[capacity];
+    }
+
+    // Registers a flyweight once and returns the index to use with add(int, ...)
+    public int indexOf(Shape flyweight) {
+        Integer index = flyweightIndexes.get(flyweight);
+        if (index != null) {
+            return index;
+        }
+        if (flyweightCount == flyweights.length) {
+            flyweights = Arrays.copyOf(flyweights, flyweightCount * 2);
+        }
+        flyweights[flyweightCount] = flyweight;
+        flyweightIndexes.put(flyweight, flyweightCount);
+        return flyweightCount++;
+    }
+
+    public void add(Shape flyweight, int x, int y, int radius) {
+        add(indexOf(flyweight), x, y, radius);
+    }
+
+    public void add(int flyweightIndex, int x, int y, int radius) {
+        if (flyweightIndex < 0 || flyweightIndex >= flyweightCount) {
+            throw new IndexOutOfBoundsException("Unknown flyweight index " + flyweightIndex);
+        }
+        if (size == shapes.length) {
+            int capacity = size * 2;
+            shapes = Arrays.copyOf(shapes, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            radii = Arrays.copyOf(radii, capacity);
+        }
+        shapes[size] = flyweightIndex;
+        xs[size] = x;
+        ys[size] = y;
+        radii[size] = radius;
+        size++;
+    }
+
+    public void drawAll(Canvas canvas) {
+        for (int i = 0; i < size; i++) {
+            flyweights[shapes[i]].draw(canvas, xs[i], ys[i], radii[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Keeps the registered flyweights so the batch can be refilled for the next frame
+    public void clear() {
+        size = 0;
+    }
+}